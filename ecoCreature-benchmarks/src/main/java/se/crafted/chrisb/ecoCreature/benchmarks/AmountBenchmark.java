@@ -0,0 +1,71 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.benchmarks;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import se.crafted.chrisb.ecoCreature.events.listeners.RewardEventListener;
+import se.crafted.chrisb.ecoCreature.rewards.Reward;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AmountBenchmark
+{
+    @Param({ "false", "true" })
+    private boolean integerCurrency;
+
+    private Reward reward;
+
+    @Setup
+    public void setup()
+    {
+        reward = new Reward(new Location(BukkitStubs.getWorld(), 0.0, 70.0, 0.0));
+        reward.setCoin(3.75);
+        reward.setGain(1.35);
+        reward.setIntegerCurrency(integerCurrency);
+        reward.setParty(new HashSet<Player>(Arrays.asList(BukkitStubs.getPlayer(), BukkitStubs.createPlayer("Alex"), BukkitStubs.createPlayer("Notch"))));
+    }
+
+    @Benchmark
+    public double calculateAmount()
+    {
+        return RewardEventListener.calculateAmount(reward);
+    }
+}
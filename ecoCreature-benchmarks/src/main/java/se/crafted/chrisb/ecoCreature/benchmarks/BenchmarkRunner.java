@@ -0,0 +1,77 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.ProfilerConfig;
+
+/**
+ * Runs the benchmarks with JSON results written to jmh-result.json, or to
+ * the file given with -rff. The GC profiler is always added, so results
+ * include bytes allocated per operation (gc.alloc.rate.norm). Any other
+ * JMH command line option is honoured.
+ */
+public final class BenchmarkRunner
+{
+    private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    private BenchmarkRunner()
+    {
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException
+    {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.parent(commandLine);
+        builder.resultFormat(ResultFormatType.JSON);
+
+        if (!commandLine.getResult().hasValue()) {
+            builder.result(DEFAULT_RESULT_FILE);
+        }
+        if (commandLine.getIncludes().isEmpty()) {
+            builder.include(BenchmarkRunner.class.getPackage().getName() + ".*");
+        }
+        if (!hasGCProfiler(commandLine)) {
+            builder.addProfiler(GCProfiler.class);
+        }
+
+        Options options = builder.build();
+        new Runner(options).run();
+    }
+
+    private static boolean hasGCProfiler(CommandLineOptions commandLine)
+    {
+        for (ProfilerConfig profiler : commandLine.getProfilers()) {
+            if (profiler.getKlass().equals("gc") || profiler.getKlass().equals(GCProfiler.class.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.benchmarks;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import org.bukkit.Bukkit;
+import org.bukkit.GameMode;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.World.Environment;
+import org.bukkit.block.Biome;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Zombie;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent.DamageCause;
+import org.bukkit.event.entity.EntityDeathEvent;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * Proxy based stand-ins for the handful of Bukkit interfaces the reward
+ * pipeline touches, so benchmarks run without a server.
+ */
+public final class BukkitStubs
+{
+    private static final String WORLD_NAME = "world";
+    private static final int SEA_LEVEL = 63;
+    private static final long NOON = 6000L;
+
+    private static World world;
+    private static Player player;
+
+    private BukkitStubs()
+    {
+    }
+
+    public static synchronized void init()
+    {
+        if (world != null) {
+            return;
+        }
+
+        Map<String, Object> worldValues = new HashMap<String, Object>();
+        worldValues.put("getName", WORLD_NAME);
+        worldValues.put("getEnvironment", Environment.NORMAL);
+        worldValues.put("getSeaLevel", SEA_LEVEL);
+        worldValues.put("getTime", NOON);
+        worldValues.put("getFullTime", NOON);
+        worldValues.put("getBiome", Biome.PLAINS);
+        world = stub(World.class, worldValues);
+
+        player = stubPlayer("Steve");
+
+        Map<String, Object> serverValues = new HashMap<String, Object>();
+        serverValues.put("getName", "BenchmarkServer");
+        serverValues.put("getVersion", "benchmark");
+        serverValues.put("getBukkitVersion", "1.4.6-R0.3-SNAPSHOT");
+        serverValues.put("getLogger", Logger.getLogger("Minecraft"));
+        serverValues.put("getWorld", world);
+        serverValues.put("getWorlds", Collections.singletonList(world));
+        serverValues.put("getPlayer", player);
+        serverValues.put("getPlayerExact", player);
+        Bukkit.setServer(stub(Server.class, serverValues));
+    }
+
+    public static World getWorld()
+    {
+        init();
+        return world;
+    }
+
+    public static Player getPlayer()
+    {
+        init();
+        return player;
+    }
+
+    public static Player createPlayer(String name)
+    {
+        init();
+        return stubPlayer(name);
+    }
+
+    private static Player stubPlayer(String name)
+    {
+        Map<String, Object> playerValues = new HashMap<String, Object>();
+        playerValues.put("getName", name);
+        playerValues.put("getWorld", world);
+        playerValues.put("getLocation", new Location(world, 0.5, 70.0, 0.5));
+        playerValues.put("getItemInHand", new ItemStack(Material.DIAMOND_SWORD, 1));
+        playerValues.put("getGameMode", GameMode.SURVIVAL);
+        playerValues.put("getType", EntityType.PLAYER);
+        playerValues.put("hasPermission", Boolean.TRUE);
+        playerValues.put("isOnline", Boolean.TRUE);
+        return stub(Player.class, playerValues);
+    }
+
+    public static EntityDeathEvent createZombieDeath(int entityId)
+    {
+        return createDeath(Zombie.class, EntityType.ZOMBIE, entityId);
+    }
+
+    public static EntityDeathEvent createDeath(EntityType type, int entityId)
+    {
+        return createDeath(LivingEntity.class, type, entityId);
+    }
+
+    private static EntityDeathEvent createDeath(Class<? extends LivingEntity> entityClass, EntityType type, int entityId)
+    {
+        init();
+
+        Map<String, Object> entityValues = new HashMap<String, Object>();
+        entityValues.put("getWorld", world);
+        entityValues.put("getLocation", new Location(world, 2.5, 70.0, 2.5));
+        entityValues.put("getType", type);
+        entityValues.put("getKiller", player);
+        entityValues.put("getEntityId", entityId);
+        LivingEntity entity = stub(entityClass, entityValues);
+
+        EntityDamageByEntityEvent damage = new EntityDamageByEntityEvent(player, entity, DamageCause.ENTITY_ATTACK, 6);
+        entityValues.put("getLastDamageCause", damage);
+
+        return new EntityDeathEvent(entity, new ArrayList<ItemStack>(), 5);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(final Class<T> type, final Map<String, Object> values)
+    {
+        return (T) Proxy.newProxyInstance(BukkitStubs.class.getClassLoader(), new Class<?>[] { type }, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args)
+            {
+                String name = method.getName();
+
+                if (values.containsKey(name)) {
+                    return values.get(name);
+                }
+                else if (name.equals("equals")) {
+                    return proxy == args[0];
+                }
+                else if (name.equals("hashCode")) {
+                    return System.identityHashCode(proxy);
+                }
+                else if (name.equals("toString")) {
+                    return type.getSimpleName() + "Stub";
+                }
+
+                return defaultValue(method.getReturnType());
+            }
+        });
+    }
+
+    private static Object defaultValue(Class<?> type)
+    {
+        if (type == boolean.class) {
+            return Boolean.FALSE;
+        }
+        else if (type == int.class) {
+            return Integer.valueOf(0);
+        }
+        else if (type == short.class) {
+            return Short.valueOf((short) 0);
+        }
+        else if (type == byte.class) {
+            return Byte.valueOf((byte) 0);
+        }
+        else if (type == char.class) {
+            return Character.valueOf((char) 0);
+        }
+        else if (type == long.class) {
+            return Long.valueOf(0L);
+        }
+        else if (type == float.class) {
+            return Float.valueOf(0.0F);
+        }
+        else if (type == double.class) {
+            return Double.valueOf(0.0);
+        }
+        else if (List.class.isAssignableFrom(type)) {
+            return Collections.emptyList();
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+final class DefaultConfig
+{
+    private static final String DEFAULT_FILE = "/default.yml";
+
+    private DefaultConfig()
+    {
+    }
+
+    static String read() throws IOException
+    {
+        InputStream input = DefaultConfig.class.getResourceAsStream(DEFAULT_FILE);
+        if (input == null) {
+            throw new IOException("Missing " + DEFAULT_FILE + " on the classpath");
+        }
+
+        try {
+            StringBuilder builder = new StringBuilder();
+            byte[] buffer = new byte[8192];
+            int length;
+            while ((length = input.read(buffer)) > 0) {
+                builder.append(new String(buffer, 0, length, "UTF-8"));
+            }
+            return builder.toString();
+        }
+        finally {
+            input.close();
+        }
+    }
+
+    static YamlConfiguration load() throws IOException, InvalidConfigurationException
+    {
+        YamlConfiguration config = new YamlConfiguration();
+        config.loadFromString(read());
+        return config;
+    }
+}
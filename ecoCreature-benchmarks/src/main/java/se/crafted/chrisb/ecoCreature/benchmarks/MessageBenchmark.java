@@ -0,0 +1,91 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.benchmarks;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import se.crafted.chrisb.ecoCreature.messages.DefaultMessage;
+import se.crafted.chrisb.ecoCreature.messages.Message;
+import se.crafted.chrisb.ecoCreature.messages.MessageToken;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageBenchmark
+{
+    private static final String TEMPLATE = "&7You are awarded &6<amt>&7 for slaying a <crt> with <itm>.";
+
+    private Message message;
+    private String legacyTemplate;
+    private Map<MessageToken, String> parameters;
+
+    @Setup
+    public void setup()
+    {
+        parameters = new EnumMap<MessageToken, String>(MessageToken.class);
+        parameters.put(MessageToken.AMOUNT, "$12.50");
+        parameters.put(MessageToken.CREATURE, "Zombie");
+        parameters.put(MessageToken.ITEM, "DIAMOND_SWORD");
+        parameters.put(MessageToken.PLAYER, "Steve");
+
+        message = new DefaultMessage(TEMPLATE);
+        legacyTemplate = message.getTemplate();
+    }
+
+    @Benchmark
+    public String assembleMessage()
+    {
+        return message.getAssembledMessage(parameters);
+    }
+
+    @Benchmark
+    public String assembleLegacyMessage()
+    {
+        String assembledMessage = legacyTemplate;
+
+        for (Entry<MessageToken, String> entry : parameters.entrySet()) {
+            if (entry.getKey() == MessageToken.AMOUNT) {
+                assembledMessage = assembledMessage.replaceAll(entry.getKey().toString(), entry.getValue().replaceAll("\\$", "\\\\\\$"));
+            }
+            else {
+                assembledMessage = assembledMessage.replaceAll(entry.getKey().toString(), entry.getValue());
+            }
+        }
+
+        return assembledMessage;
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.benchmarks;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.Material;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
+
+import se.crafted.chrisb.ecoCreature.commons.RewardRandom;
+import se.crafted.chrisb.ecoCreature.events.EntityKilledEvent;
+import se.crafted.chrisb.ecoCreature.events.listeners.RewardEventListener;
+import se.crafted.chrisb.ecoCreature.rewards.Reward;
+import se.crafted.chrisb.ecoCreature.rewards.rules.Rule;
+import se.crafted.chrisb.ecoCreature.rewards.sources.AbstractRewardSource;
+import se.crafted.chrisb.ecoCreature.settings.AbstractRewardSettings;
+import se.crafted.chrisb.ecoCreature.settings.EntityRewardSettings;
+import se.crafted.chrisb.ecoCreature.settings.RewardResolution;
+
+/**
+ * Draws synthetic kills against a reward table and reports the payout
+ * distribution, expected coin per kill and per hour, and item drop rates.
+ * Hunting rules are not applied. Run with
+ * <pre>
+ * java -cp benchmarks.jar se.crafted.chrisb.ecoCreature.benchmarks.RewardSimulator
+ *     [--config default.yml] [--kills 1000000] [--mobs Zombie=5,Skeleton=3]
+ *     [--gains 1.0=80,1.5=20] [--parties 1=70,2=20,4=10]
+ *     [--kills-per-hour 600] [--threads n] [--seed n]
+ * </pre>
+ * Without --config the bundled default.yml is used, and without --mobs every
+ * mob in the reward table is equally likely. Results only repeat for a given
+ * --seed when running with --threads 1.
+ */
+public final class RewardSimulator
+{
+    private static final long DEFAULT_KILLS = 1000000L;
+    private static final long DEFAULT_KILLS_PER_HOUR = 600L;
+    private static final double[] PERCENTILES = { 10.0, 50.0, 90.0, 99.0 };
+
+    private final List<EntityType> mobs;
+    private final RewardResolution[] resolutions;
+    private final EntityKilledEvent[] events;
+    private final WeightedChoice<Integer> mobChoice;
+    private final WeightedChoice<Double> gainChoice;
+    private final WeightedChoice<Integer> partyChoice;
+    private final Map<Integer, Set<Player>> parties;
+
+    private RewardSimulator(Map<EntityType, List<AbstractRewardSource>> sources, Map<String, Double> mobWeights,
+            Map<Double, Double> gainWeights, Map<Integer, Double> partyWeights)
+    {
+        mobs = new ArrayList<EntityType>();
+        Map<Integer, Double> mobIndexWeights = new LinkedHashMap<Integer, Double>();
+
+        for (Map.Entry<String, Double> entry : mobWeights.entrySet()) {
+            EntityType type = EntityType.fromName(entry.getKey());
+
+            if (type == null || !sources.containsKey(type)) {
+                throw new IllegalArgumentException("No reward for mob: " + entry.getKey());
+            }
+            mobIndexWeights.put(mobs.size(), entry.getValue());
+            mobs.add(type);
+        }
+
+        resolutions = new RewardResolution[mobs.size()];
+        events = new EntityKilledEvent[mobs.size()];
+
+        for (int i = 0; i < mobs.size(); i++) {
+            resolutions[i] = new RewardResolution(sources.get(mobs.get(i)), Collections.<Rule> emptySet());
+            events[i] = EntityKilledEvent.createEvent(BukkitStubs.createDeath(mobs.get(i), i + 1));
+        }
+
+        mobChoice = new WeightedChoice<Integer>(mobIndexWeights);
+        gainChoice = new WeightedChoice<Double>(gainWeights);
+        partyChoice = new WeightedChoice<Integer>(partyWeights);
+        parties = new HashMap<Integer, Set<Player>>();
+
+        for (Integer size : partyChoice.getValues()) {
+            Set<Player> party = new HashSet<Player>();
+            for (int member = 0; member < size; member++) {
+                party.add(BukkitStubs.createPlayer("member" + member));
+            }
+            parties.put(size, Collections.unmodifiableSet(party));
+        }
+    }
+
+    SimulationResult simulate(long kills)
+    {
+        SimulationResult result = new SimulationResult(mobs.size());
+        RewardRandom random = RewardRandom.current();
+
+        for (long kill = 0; kill < kills; kill++) {
+            int mob = mobChoice.next(random);
+            Set<Player> party = parties.get(partyChoice.next(random));
+
+            Reward reward = resolutions[mob].nextSource().createReward(events[mob]);
+            reward.setGain(gainChoice.next(random));
+            reward.setParty(party);
+
+            double payout = reward.getCoin() != 0.0 ? RewardEventListener.calculateAmount(reward) * party.size() : 0.0;
+            result.getMob(mob).record(payout, reward.getItemDrops(), reward.getEntityDrops());
+        }
+
+        return result;
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        Map<String, String> options = parseOptions(args);
+        long kills = Long.parseLong(getOption(options, "kills", String.valueOf(DEFAULT_KILLS)));
+        long killsPerHour = Long.parseLong(getOption(options, "kills-per-hour", String.valueOf(DEFAULT_KILLS_PER_HOUR)));
+        int threads = Integer.parseInt(getOption(options, "threads", String.valueOf(Runtime.getRuntime().availableProcessors())));
+
+        if (options.containsKey("seed")) {
+            RewardRandom.setSeed(Long.parseLong(options.get("seed")));
+        }
+
+        BukkitStubs.init();
+        YamlConfiguration config = loadConfig(options.get("config"));
+        AbstractRewardSettings<EntityType> settings = EntityRewardSettings.parseConfig(config);
+
+        Map<String, Double> mobWeights = WeightedChoice.parseWeights(getOption(options, "mobs", ""));
+        if (mobWeights.isEmpty()) {
+            for (EntityType type : settings.getSources().keySet()) {
+                mobWeights.put(type.getName(), 1.0);
+            }
+        }
+        if (mobWeights.isEmpty()) {
+            throw new IllegalArgumentException("No mob rewards in the RewardTable");
+        }
+
+        Map<Double, Double> gainWeights = new LinkedHashMap<Double, Double>();
+        for (Map.Entry<String, Double> entry : WeightedChoice.parseWeights(getOption(options, "gains", "1.0")).entrySet()) {
+            gainWeights.put(Double.valueOf(entry.getKey()), entry.getValue());
+        }
+
+        Map<Integer, Double> partyWeights = new LinkedHashMap<Integer, Double>();
+        for (Map.Entry<String, Double> entry : WeightedChoice.parseWeights(getOption(options, "parties", "1")).entrySet()) {
+            partyWeights.put(Math.max(1, Integer.parseInt(entry.getKey())), entry.getValue());
+        }
+
+        RewardSimulator simulator = new RewardSimulator(settings.getSources(), mobWeights, gainWeights, partyWeights);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+
+        try {
+            long start = System.nanoTime();
+            SimulationResult result = pool.invoke(new SimulationTask(simulator, kills));
+            long elapsed = System.nanoTime() - start;
+
+            simulator.report(System.out, result, kills, elapsed, threads, killsPerHour);
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+
+    private void report(PrintStream out, SimulationResult result, long kills, long elapsedNanos, int threads, long killsPerHour)
+    {
+        double seconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        out.println(String.format("Simulated %,d kills in %.2f s on %d threads (%,.0f kills/s)", kills, seconds, threads, kills / seconds));
+        out.println();
+
+        out.println(String.format("%-16s %7s %10s %10s %7s %7s %10s %10s %10s %10s %10s %10s", "Mob", "Share", "EV/kill", "StdDev", "Paid", "Penalty",
+                "Min", "p10", "p50", "p90", "p99", "Max"));
+        for (int i = 0; i < mobs.size(); i++) {
+            printRow(out, mobs.get(i).getName(), result.getMob(i), kills);
+        }
+        SimulationResult.MobResult total = result.getTotal();
+        printRow(out, "Total", total, kills);
+
+        out.println();
+        out.println(String.format("Expected coin per hour at %,d kills/hour: %,.2f", killsPerHour, total.getMean() * killsPerHour));
+        out.println(String.format("Total coin paid: %,.2f", total.getCoin()));
+
+        out.println();
+        out.println("Item drops (chance per kill, items per kill):");
+        for (int i = 0; i < mobs.size(); i++) {
+            SimulationResult.MobResult mob = result.getMob(i);
+            StringBuilder line = new StringBuilder(String.format("  %-16s", mobs.get(i).getName()));
+
+            for (int typeId : mob.getItemTypes()) {
+                Material material = Material.getMaterial(typeId);
+                line.append(String.format(" %s %.1f%% (%.2f)", material != null ? material.name() : String.valueOf(typeId), mob.getItemDropRate(typeId) * 100.0,
+                        mob.getItemsPerKill(typeId)));
+            }
+            if (mob.getEntityDropRate() > 0.0) {
+                line.append(String.format(" entities (%.2f)", mob.getEntityDropRate()));
+            }
+            out.println(line);
+        }
+    }
+
+    private static void printRow(PrintStream out, String name, SimulationResult.MobResult mob, long kills)
+    {
+        StringBuilder row = new StringBuilder(String.format("%-16s %6.1f%% %10.2f %10.2f %6.1f%% %6.1f%% %10.2f", name, mob.getKills() * 100.0 / kills, mob.getMean(),
+                mob.getStandardDeviation(), mob.getPaidRate() * 100.0, mob.getPenaltyRate() * 100.0, mob.getMin()));
+
+        for (double percentile : PERCENTILES) {
+            row.append(String.format(" %10.2f", mob.getPercentile(percentile)));
+        }
+        row.append(String.format(" %10.2f", mob.getMax()));
+
+        out.println(row);
+    }
+
+    private static YamlConfiguration loadConfig(String path) throws Exception
+    {
+        YamlConfiguration defaults = DefaultConfig.load();
+
+        if (path == null) {
+            return defaults;
+        }
+
+        YamlConfiguration config = new YamlConfiguration();
+        config.load(new File(path));
+        config.setDefaults(defaults);
+        return config;
+    }
+
+    private static Map<String, String> parseOptions(String[] args)
+    {
+        Map<String, String> options = new HashMap<String, String>();
+
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --option value, got " + args[i]);
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+
+        return options;
+    }
+
+    private static String getOption(Map<String, String> options, String name, String defaultValue)
+    {
+        return options.containsKey(name) ? options.get(name) : defaultValue;
+    }
+}
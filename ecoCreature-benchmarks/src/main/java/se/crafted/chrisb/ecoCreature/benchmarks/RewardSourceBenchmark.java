@@ -0,0 +1,86 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.benchmarks;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import se.crafted.chrisb.ecoCreature.PluginConfig;
+import se.crafted.chrisb.ecoCreature.events.EntityKilledEvent;
+import se.crafted.chrisb.ecoCreature.rewards.Reward;
+import se.crafted.chrisb.ecoCreature.rewards.gain.GainMultipliers;
+import se.crafted.chrisb.ecoCreature.rewards.parties.PartyCache;
+import se.crafted.chrisb.ecoCreature.rewards.sources.AbstractRewardSource;
+import se.crafted.chrisb.ecoCreature.settings.RewardSourceFactory;
+import se.crafted.chrisb.ecoCreature.settings.SpawnerMobRegistry;
+import se.crafted.chrisb.ecoCreature.settings.WorldSettings;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RewardSourceBenchmark
+{
+    private static final String SOURCE_NAME = "Skeleton";
+
+    private AbstractRewardSource source;
+    private WorldSettings settings;
+    private EntityKilledEvent event;
+
+    @Setup
+    public void setup() throws Exception
+    {
+        BukkitStubs.init();
+
+        YamlConfiguration config = DefaultConfig.load();
+        source = RewardSourceFactory.createSource(SOURCE_NAME, config.getConfigurationSection("RewardTable." + SOURCE_NAME));
+        settings = PluginConfig.loadWorldSettings(new WorldSettings(), config, GainMultipliers.DEFAULT_CACHE_TIME, PartyCache.DEFAULT_CACHE_TIME);
+
+        File indexFolder = new File(System.getProperty("java.io.tmpdir"), "ecoCreature-benchmarks");
+        event = EntityKilledEvent.createEvent(BukkitStubs.createZombieDeath(1));
+        event.setSpawnerMobTracking(new SpawnerMobRegistry(indexFolder));
+    }
+
+    @Benchmark
+    public Reward createReward()
+    {
+        return source.createReward(event);
+    }
+
+    @Benchmark
+    public Reward resolveReward()
+    {
+        return settings.resolveReward(event);
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.benchmarks;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.bukkit.entity.EntityType;
+import org.bukkit.inventory.ItemStack;
+
+import se.crafted.chrisb.ecoCreature.commons.IntLongHashMap;
+
+final class SimulationResult
+{
+    private final MobResult[] mobs;
+
+    SimulationResult(int mobCount)
+    {
+        mobs = new MobResult[mobCount];
+
+        for (int i = 0; i < mobCount; i++) {
+            mobs[i] = new MobResult();
+        }
+    }
+
+    MobResult getMob(int index)
+    {
+        return mobs[index];
+    }
+
+    MobResult getTotal()
+    {
+        MobResult total = new MobResult();
+
+        for (MobResult mob : mobs) {
+            total.merge(mob);
+        }
+
+        return total;
+    }
+
+    SimulationResult merge(SimulationResult other)
+    {
+        for (int i = 0; i < mobs.length; i++) {
+            mobs[i].merge(other.mobs[i]);
+        }
+        return this;
+    }
+
+    static final class MobResult
+    {
+        private static final double CENTS = 100.0;
+
+        private long kills;
+        private long paidKills;
+        private long penaltyKills;
+        private long entityDrops;
+        private double coin;
+        private double coinSquares;
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+
+        private final IntLongHashMap payouts = new IntLongHashMap();
+        private final IntLongHashMap itemKills = new IntLongHashMap();
+        private final IntLongHashMap itemAmounts = new IntLongHashMap();
+
+        void record(double payout, List<ItemStack> items, List<EntityType> entities)
+        {
+            kills++;
+            coin += payout;
+            coinSquares += payout * payout;
+            min = Math.min(min, payout);
+            max = Math.max(max, payout);
+
+            if (payout > 0.0) {
+                paidKills++;
+            }
+            else if (payout < 0.0) {
+                penaltyKills++;
+            }
+
+            increment(payouts, (int) Math.round(payout * CENTS), 1L);
+
+            for (int i = 0; i < items.size(); i++) {
+                ItemStack item = items.get(i);
+                if (isFirstOfType(items, i)) {
+                    increment(itemKills, item.getTypeId(), 1L);
+                }
+                increment(itemAmounts, item.getTypeId(), item.getAmount());
+            }
+            entityDrops += entities.size();
+        }
+
+        // NOTE: drop lines can share a material, count each type once per kill
+        private static boolean isFirstOfType(List<ItemStack> items, int index)
+        {
+            int typeId = items.get(index).getTypeId();
+
+            for (int i = 0; i < index; i++) {
+                if (items.get(i).getTypeId() == typeId) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        void merge(MobResult other)
+        {
+            kills += other.kills;
+            paidKills += other.paidKills;
+            penaltyKills += other.penaltyKills;
+            entityDrops += other.entityDrops;
+            coin += other.coin;
+            coinSquares += other.coinSquares;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+
+            mergeCounts(payouts, other.payouts);
+            mergeCounts(itemKills, other.itemKills);
+            mergeCounts(itemAmounts, other.itemAmounts);
+        }
+
+        long getKills()
+        {
+            return kills;
+        }
+
+        double getCoin()
+        {
+            return coin;
+        }
+
+        double getMean()
+        {
+            return kills > 0 ? coin / kills : 0.0;
+        }
+
+        double getStandardDeviation()
+        {
+            if (kills < 2) {
+                return 0.0;
+            }
+            double mean = getMean();
+            return Math.sqrt(Math.max(0.0, coinSquares / kills - mean * mean));
+        }
+
+        double getMin()
+        {
+            return kills > 0 ? min : 0.0;
+        }
+
+        double getMax()
+        {
+            return kills > 0 ? max : 0.0;
+        }
+
+        double getPaidRate()
+        {
+            return kills > 0 ? (double) paidKills / kills : 0.0;
+        }
+
+        double getPenaltyRate()
+        {
+            return kills > 0 ? (double) penaltyKills / kills : 0.0;
+        }
+
+        double getEntityDropRate()
+        {
+            return kills > 0 ? (double) entityDrops / kills : 0.0;
+        }
+
+        /**
+         * Payouts are rounded to the cent by calculateAmount, so the
+         * distribution is exact rather than bucketed.
+         */
+        double getPercentile(double percentile)
+        {
+            int[] cents = payouts.keys();
+            Arrays.sort(cents);
+
+            long rank = (long) Math.ceil(percentile / 100.0 * kills);
+            long seen = 0L;
+            for (int value : cents) {
+                seen += payouts.get(value, 0L);
+                if (seen >= Math.max(1L, rank)) {
+                    return value / CENTS;
+                }
+            }
+
+            return getMax();
+        }
+
+        int[] getItemTypes()
+        {
+            int[] types = itemKills.keys();
+            Arrays.sort(types);
+            return types;
+        }
+
+        double getItemDropRate(int typeId)
+        {
+            return kills > 0 ? (double) itemKills.get(typeId, 0L) / kills : 0.0;
+        }
+
+        double getItemsPerKill(int typeId)
+        {
+            return kills > 0 ? (double) itemAmounts.get(typeId, 0L) / kills : 0.0;
+        }
+
+        private static void increment(IntLongHashMap counts, int key, long amount)
+        {
+            counts.put(key, counts.get(key, 0L) + amount);
+        }
+
+        private static void mergeCounts(IntLongHashMap counts, IntLongHashMap other)
+        {
+            for (int key : other.keys()) {
+                increment(counts, key, other.get(key, 0L));
+            }
+        }
+    }
+}
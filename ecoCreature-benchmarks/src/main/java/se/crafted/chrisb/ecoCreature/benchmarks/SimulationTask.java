@@ -0,0 +1,51 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.benchmarks;
+
+import java.util.concurrent.RecursiveTask;
+
+final class SimulationTask extends RecursiveTask<SimulationResult>
+{
+    private static final long serialVersionUID = 1L;
+    private static final long SPLIT_THRESHOLD = 16384L;
+
+    private final RewardSimulator simulator;
+    private final long kills;
+
+    SimulationTask(RewardSimulator simulator, long kills)
+    {
+        this.simulator = simulator;
+        this.kills = kills;
+    }
+
+    @Override
+    protected SimulationResult compute()
+    {
+        if (kills <= SPLIT_THRESHOLD) {
+            return simulator.simulate(kills);
+        }
+
+        SimulationTask left = new SimulationTask(simulator, kills / 2);
+        SimulationTask right = new SimulationTask(simulator, kills - kills / 2);
+        left.fork();
+
+        return right.compute().merge(left.join());
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import se.crafted.chrisb.ecoCreature.commons.RewardRandom;
+
+final class WeightedChoice<T>
+{
+    private final List<T> values;
+    private final double[] cumulative;
+    private final double total;
+
+    WeightedChoice(Map<T, Double> weights)
+    {
+        values = new ArrayList<T>(weights.size());
+        cumulative = new double[weights.size()];
+
+        double sum = 0.0;
+        for (Map.Entry<T, Double> entry : weights.entrySet()) {
+            if (entry.getValue() <= 0.0) {
+                throw new IllegalArgumentException("Weight for " + entry.getKey() + " must be positive");
+            }
+            sum += entry.getValue();
+            cumulative[values.size()] = sum;
+            values.add(entry.getKey());
+        }
+
+        if (values.isEmpty()) {
+            throw new IllegalArgumentException("Nothing to choose from");
+        }
+        total = sum;
+    }
+
+    T next(RewardRandom random)
+    {
+        if (values.size() == 1) {
+            return values.get(0);
+        }
+
+        int index = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+        return values.get(index >= 0 ? index + 1 : -index - 1);
+    }
+
+    List<T> getValues()
+    {
+        return values;
+    }
+
+    /**
+     * Parses "key=weight,key=weight". A key without a weight counts as 1.
+     */
+    static Map<String, Double> parseWeights(String spec)
+    {
+        Map<String, Double> weights = new LinkedHashMap<String, Double>();
+
+        for (String part : spec.split(",")) {
+            if (part.trim().isEmpty()) {
+                continue;
+            }
+
+            int separator = part.indexOf('=');
+            String key = separator < 0 ? part.trim() : part.substring(0, separator).trim();
+            double weight = separator < 0 ? 1.0 : Double.parseDouble(part.substring(separator + 1).trim());
+            weights.put(key, weight);
+        }
+
+        return weights;
+    }
+}
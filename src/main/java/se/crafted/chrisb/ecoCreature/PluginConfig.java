@@ -24,11 +24,21 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.bukkit.World;
 import org.bukkit.configuration.ConfigurationSection;
@@ -36,10 +46,23 @@ import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 
+import se.crafted.chrisb.ecoCreature.commons.DebugCategory;
+import se.crafted.chrisb.ecoCreature.commons.DependencyUtils;
 import se.crafted.chrisb.ecoCreature.commons.LoggerUtil;
+import se.crafted.chrisb.ecoCreature.commons.PermissionCache;
+import se.crafted.chrisb.ecoCreature.economy.CoinAuditLog;
+import se.crafted.chrisb.ecoCreature.messages.CoinMessageDecorator;
+import se.crafted.chrisb.ecoCreature.messages.DefaultMessage;
+import se.crafted.chrisb.ecoCreature.messages.Message;
+import se.crafted.chrisb.ecoCreature.metrics.McStatsSink;
+import se.crafted.chrisb.ecoCreature.metrics.MetricsSink;
+import se.crafted.chrisb.ecoCreature.metrics.PrometheusFileSink;
+import se.crafted.chrisb.ecoCreature.metrics.PrometheusHttpSink;
+import se.crafted.chrisb.ecoCreature.metrics.StageStats;
 import se.crafted.chrisb.ecoCreature.rewards.gain.BiomeGain;
 import se.crafted.chrisb.ecoCreature.rewards.gain.EnvironmentGain;
 import se.crafted.chrisb.ecoCreature.rewards.gain.FactionsGain;
+import se.crafted.chrisb.ecoCreature.rewards.gain.GainMultipliers;
 import se.crafted.chrisb.ecoCreature.rewards.gain.PlayerGain;
 import se.crafted.chrisb.ecoCreature.rewards.gain.GroupGain;
 import se.crafted.chrisb.ecoCreature.rewards.gain.HeroesGain;
@@ -56,7 +79,9 @@ import se.crafted.chrisb.ecoCreature.rewards.parties.HeroesParty;
 import se.crafted.chrisb.ecoCreature.rewards.parties.McMMOParty;
 import se.crafted.chrisb.ecoCreature.rewards.parties.MobArenaParty;
 import se.crafted.chrisb.ecoCreature.rewards.parties.Party;
+import se.crafted.chrisb.ecoCreature.rewards.parties.PartyCache;
 import se.crafted.chrisb.ecoCreature.settings.AbstractRewardSettings;
+import se.crafted.chrisb.ecoCreature.settings.ConfigSnapshot;
 import se.crafted.chrisb.ecoCreature.settings.CustomEntityRewardSettings;
 import se.crafted.chrisb.ecoCreature.settings.CustomMaterialRewardSettings;
 import se.crafted.chrisb.ecoCreature.settings.CustomRewardSettings;
@@ -65,6 +90,7 @@ import se.crafted.chrisb.ecoCreature.settings.EntityRewardSettings;
 import se.crafted.chrisb.ecoCreature.settings.HeroesRewardSettings;
 import se.crafted.chrisb.ecoCreature.settings.MaterialRewardSettings;
 import se.crafted.chrisb.ecoCreature.settings.McMMORewardSettings;
+import se.crafted.chrisb.ecoCreature.settings.RewardDispatchTable;
 import se.crafted.chrisb.ecoCreature.settings.WorldSettings;
 
 public class PluginConfig
@@ -73,21 +99,63 @@ public class PluginConfig
 
     private static final String OLD_DEFAULT_FILE = "ecoCreature.yml";
     private static final String DEFAULT_FILE = "default.yml";
+    private static final String SNAPSHOT_FILE = "config.snapshot";
     private static final int BUFFER_SIZE = 8192;
+    private static final long MILLIS_PER_TICK = 50L;
+    private static final String COALESCED_REWARD_MESSAGE = "&7You are awarded &6<amt>&7 for slaying &5<cnt>&7 creatures.";
+    private static final String COALESCED_PENALTY_MESSAGE = "&7You are penalized &6<amt>&7 for slaying &5<cnt>&7 creatures.";
 
     private final ecoCreature plugin;
     private final File dataWorldsFolder;
     private boolean initialized;
-
+    private String error;
+    private boolean debug;
+    private Set<DebugCategory> debugCategories;
+    private int debugSampleRate;
+    private boolean stageTimings;
+    private String prometheusFile;
+    private String auditFile;
+    private CoinAuditLog.Format auditFormat;
+    private int auditBufferSize;
+    private long auditMaxBytes;
+    private long auditRotateMillis;
+    private boolean auditCompress;
+    private long prometheusFileInterval;
+    private int prometheusPort;
+    private boolean mcStats;
+    private long batchIntervalTicks;
+    private boolean batchAsync;
+    private long tickBudgetNanos;
+    private long permissionCacheTime;
+    private long gainCacheTime;
+    private long partyCacheTime;
+
+    private YamlConfiguration defaults;
     private Map<String, FileConfiguration> fileConfigMap;
     private Map<String, WorldSettings> worldSettingsMap;
 
     public PluginConfig(ecoCreature plugin)
+    {
+        this(plugin, getWorldNames(plugin));
+    }
+
+    public PluginConfig(ecoCreature plugin, Collection<String> worldNames)
     {
         this.plugin = plugin;
         dataWorldsFolder = new File(plugin.getDataFolder(), "worlds");
         dataWorldsFolder.mkdirs();
-        initialized = initConfig();
+        initialized = initConfig(worldNames);
+    }
+
+    public static List<String> getWorldNames(ecoCreature plugin)
+    {
+        List<String> worldNames = new ArrayList<String>();
+
+        for (World world : plugin.getServer().getWorlds()) {
+            worldNames.add(world.getName());
+        }
+
+        return worldNames;
     }
 
     public boolean isInitialized()
@@ -95,6 +163,68 @@ public class PluginConfig
         return initialized;
     }
 
+    public String getError()
+    {
+        return error;
+    }
+
+    public void activate()
+    {
+        LoggerUtil.getInstance().setDebug(debug);
+        LoggerUtil.getInstance().setDebugCategories(debugCategories);
+        LoggerUtil.getInstance().setSampleRate(debugSampleRate);
+        DependencyUtils.getPermissionCache().setTimeToLive(permissionCacheTime);
+        StageStats.getInstance().setEnabled(stageTimings);
+        plugin.getMetrics().setSinks(createMetricsSinks());
+
+        if (auditFile != null && !auditFile.isEmpty()) {
+            CoinAuditLog.getInstance().start(getDataFile(auditFile), auditFormat, auditBufferSize, auditMaxBytes, auditRotateMillis, auditCompress);
+        }
+        else {
+            CoinAuditLog.getInstance().stop();
+        }
+    }
+
+    private File getDataFile(String path)
+    {
+        File file = new File(path);
+        return file.isAbsolute() ? file : new File(plugin.getDataFolder(), path);
+    }
+
+    private List<MetricsSink> createMetricsSinks()
+    {
+        List<MetricsSink> sinks = new ArrayList<MetricsSink>();
+
+        if (mcStats) {
+            sinks.add(new McStatsSink(plugin));
+        }
+
+        if (prometheusFile != null && !prometheusFile.isEmpty()) {
+            sinks.add(new PrometheusFileSink(plugin, getDataFile(prometheusFile), TimeUnit.SECONDS.toMillis(prometheusFileInterval) / MILLIS_PER_TICK));
+        }
+
+        if (prometheusPort > 0) {
+            sinks.add(new PrometheusHttpSink(prometheusPort));
+        }
+
+        return sinks;
+    }
+
+    public long getBatchIntervalTicks()
+    {
+        return batchIntervalTicks;
+    }
+
+    public boolean isBatchAsync()
+    {
+        return batchAsync;
+    }
+
+    public long getTickBudgetNanos()
+    {
+        return tickBudgetNanos;
+    }
+
     public WorldSettings getWorldSettings(World world)
     {
         WorldSettings settings = worldSettingsMap.get(world.getName());
@@ -104,61 +234,264 @@ public class PluginConfig
         return settings;
     }
 
-    private boolean initConfig()
+    public void invalidatePlayer(String player)
+    {
+        for (WorldSettings settings : new HashSet<WorldSettings>(worldSettingsMap.values())) {
+            settings.invalidatePlayer(player);
+        }
+    }
+
+    public void invalidateParties()
+    {
+        for (WorldSettings settings : new HashSet<WorldSettings>(worldSettingsMap.values())) {
+            settings.invalidateParties();
+        }
+    }
+
+    public int getPartyCacheSize()
+    {
+        int size = 0;
+
+        for (WorldSettings settings : new HashSet<WorldSettings>(worldSettingsMap.values())) {
+            size += settings.getPartyCacheSize();
+        }
+
+        return size;
+    }
+
+    private boolean initConfig(Collection<String> worldNames)
     {
         FileConfiguration fileConfig = null;
 
         try {
-            fileConfig = getDefaultConfig();
-            LoggerUtil.getInstance().setDebug(fileConfig.getBoolean("System.Debug", LoggerUtil.getInstance().isDebug()));
+            long start = System.nanoTime();
+            Map<String, File> worldConfigFiles = getWorldConfigFiles(worldNames);
+            File defaultFile = new File(plugin.getDataFolder(), DEFAULT_FILE);
+            byte[] hash = defaultFile.exists() ? getConfigHash(defaultFile, worldConfigFiles) : null;
+            ConfigSnapshot snapshot = hash != null ? readSnapshot(hash) : null;
+
+            fileConfig = snapshot != null ? snapshot.getConfig(DEFAULT_FILE) : null;
+            if (fileConfig == null) {
+                snapshot = null;
+                fileConfig = getDefaultConfig();
+            }
+            loadSystemSettings(fileConfig);
 
-            WorldSettings defaultSettings = loadWorldSettings(new WorldSettings(plugin), fileConfig);
+            WorldSettings defaultSettings = loadWorldSettings(new WorldSettings(), fileConfig, gainCacheTime, partyCacheTime);
             worldSettingsMap = new HashMap<String, WorldSettings>();
             worldSettingsMap.put(DEFAULT_WORLD, defaultSettings);
 
             fileConfigMap = new HashMap<String, FileConfiguration>();
 
-            for (World world : plugin.getServer().getWorlds()) {
+            for (String worldName : worldNames) {
+                if (!worldConfigFiles.containsKey(worldName)) {
+                    worldSettingsMap.put(worldName, defaultSettings);
+                }
+            }
 
-                File worldConfigFile = new File(dataWorldsFolder, world.getName() + ".yml");
+            loadWorldConfigs(worldConfigFiles, snapshot);
 
-                if (worldConfigFile.exists()) {
-                    FileConfiguration configFile = getConfig(worldConfigFile);
-                    LoggerUtil.getInstance().info("Loaded config for " + world.getName() + " world.");
-                    worldSettingsMap.put(world.getName(), loadWorldSettings(new WorldSettings(plugin), configFile));
-                    fileConfigMap.put(world.getName(), configFile);
-                }
-                else {
-                    worldSettingsMap.put(world.getName(), defaultSettings);
-                }
+            long nanos = System.nanoTime() - start;
+            if (snapshot != null) {
+                LoggerUtil.getInstance().info(String.format("Loaded config from snapshot in %d ms, full parse took %d ms.", TimeUnit.NANOSECONDS.toMillis(nanos),
+                        TimeUnit.NANOSECONDS.toMillis(snapshot.getLoadNanos())));
             }
+            else if (hash != null) {
+                LoggerUtil.getInstance().info(String.format("Parsed config in %d ms.", TimeUnit.NANOSECONDS.toMillis(nanos)));
+                writeSnapshot(hash, nanos, fileConfig);
+            }
+
+            worldSettingsMap = Collections.unmodifiableMap(worldSettingsMap);
+            fileConfigMap = Collections.unmodifiableMap(fileConfigMap);
 
             return true;
         }
         catch (IOException ioe) {
-            LoggerUtil.getInstance().severe("Failed to read config: " + ioe.toString());
+            error = "Failed to read config: " + ioe.toString();
+            LoggerUtil.getInstance().severe(error);
         }
         catch (InvalidConfigurationException ice) {
-            LoggerUtil.getInstance().severe("Failed to parse config: " + ice.toString());
+            error = "Failed to parse config: " + ice.toString();
+            LoggerUtil.getInstance().severe(error);
         }
 
         return false;
     }
 
-    private static WorldSettings loadWorldSettings(WorldSettings settings, FileConfiguration config)
+    private Map<String, File> getWorldConfigFiles(Collection<String> worldNames)
+    {
+        Map<String, File> worldConfigFiles = new LinkedHashMap<String, File>();
+
+        for (String worldName : worldNames) {
+            File worldConfigFile = new File(dataWorldsFolder, worldName + ".yml");
+
+            if (worldConfigFile.exists()) {
+                worldConfigFiles.put(worldName, worldConfigFile);
+            }
+        }
+
+        return worldConfigFiles;
+    }
+
+    private byte[] getConfigHash(File defaultFile, Map<String, File> worldConfigFiles)
+    {
+        List<File> files = new ArrayList<File>();
+        files.add(defaultFile);
+        files.addAll(worldConfigFiles.values());
+
+        try {
+            return ConfigSnapshot.hash(plugin.getResource(DEFAULT_FILE), files);
+        }
+        catch (IOException e) {
+            LoggerUtil.getInstance().warning("Failed to hash config files: " + e.toString());
+        }
+
+        return null;
+    }
+
+    private ConfigSnapshot readSnapshot(byte[] hash)
+    {
+        try {
+            return ConfigSnapshot.read(new File(plugin.getDataFolder(), SNAPSHOT_FILE), hash);
+        }
+        catch (IOException e) {
+            LoggerUtil.getInstance().warning("Failed to read config snapshot: " + e.toString());
+        }
+
+        return null;
+    }
+
+    private void writeSnapshot(byte[] hash, long nanos, FileConfiguration fileConfig)
+    {
+        try {
+            ConfigSnapshot snapshot = new ConfigSnapshot(nanos);
+            snapshot.put(DEFAULT_FILE, fileConfig);
+            for (Map.Entry<String, FileConfiguration> entry : fileConfigMap.entrySet()) {
+                snapshot.put(entry.getKey() + ".yml", entry.getValue());
+            }
+            snapshot.write(new File(plugin.getDataFolder(), SNAPSHOT_FILE), hash);
+        }
+        catch (IOException e) {
+            LoggerUtil.getInstance().warning("Failed to write config snapshot: " + e.toString());
+        }
+    }
+
+    private void loadWorldConfigs(Map<String, File> worldConfigFiles, ConfigSnapshot snapshot) throws IOException, InvalidConfigurationException
+    {
+        if (worldConfigFiles.isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        int threads = Math.min(worldConfigFiles.size(), Runtime.getRuntime().availableProcessors());
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            Map<String, Future<WorldConfig>> futures = new LinkedHashMap<String, Future<WorldConfig>>();
+
+            for (Map.Entry<String, File> entry : worldConfigFiles.entrySet()) {
+                futures.put(entry.getKey(), executor.submit(new WorldConfigLoader(entry.getKey(), entry.getValue(), snapshot)));
+            }
+
+            for (Map.Entry<String, Future<WorldConfig>> entry : futures.entrySet()) {
+                WorldConfig worldConfig = getWorldConfig(entry.getValue());
+                worldSettingsMap.put(entry.getKey(), worldConfig.settings);
+                fileConfigMap.put(entry.getKey(), worldConfig.config);
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+
+        LoggerUtil.getInstance().info(String.format("Loaded %d world configs on %d threads in %d ms.", worldConfigFiles.size(), threads,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+    }
+
+    private static WorldConfig getWorldConfig(Future<WorldConfig> future) throws IOException, InvalidConfigurationException
+    {
+        try {
+            return future.get();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading world configs");
+        }
+        catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            if (e.getCause() instanceof InvalidConfigurationException) {
+                throw (InvalidConfigurationException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void loadSystemSettings(ConfigurationSection config)
+    {
+        debug = config.getBoolean("System.Debug", LoggerUtil.getInstance().isDebug());
+        debugCategories = loadDebugCategories(config.getStringList("System.DebugCategories"));
+        debugSampleRate = Math.max(1, config.getInt("System.DebugSampleRate", 1));
+        batchIntervalTicks = Math.max(0L, config.getLong("System.Economy.BatchIntervalTicks", 0L));
+        batchAsync = config.getBoolean("System.Economy.BatchAsync", false);
+        tickBudgetNanos = TimeUnit.MICROSECONDS.toNanos(Math.max(0L, config.getLong("System.Scheduler.TickBudgetMicros", 0L)));
+        permissionCacheTime = TimeUnit.SECONDS.toMillis(config.getLong("System.Permissions.CacheSeconds",
+                TimeUnit.MILLISECONDS.toSeconds(PermissionCache.DEFAULT_TIME_TO_LIVE)));
+        gainCacheTime = TimeUnit.SECONDS.toMillis(config.getLong("System.Gain.CacheSeconds", TimeUnit.MILLISECONDS.toSeconds(GainMultipliers.DEFAULT_CACHE_TIME)));
+        partyCacheTime = TimeUnit.SECONDS.toMillis(config.getLong("System.Parties.CacheSeconds", TimeUnit.MILLISECONDS.toSeconds(PartyCache.DEFAULT_CACHE_TIME)));
+        stageTimings = config.getBoolean("System.Metrics.StageTimings", false);
+        prometheusFile = config.getString("System.Metrics.PrometheusFile", "");
+        prometheusFileInterval = Math.max(1L, config.getLong("System.Metrics.PrometheusFileIntervalSeconds", 15L));
+        prometheusPort = config.getInt("System.Metrics.PrometheusPort", 0);
+        mcStats = config.getBoolean("System.Metrics.McStats", true);
+
+        auditFile = config.getString("System.Audit.File", "");
+        auditFormat = "JSON".equalsIgnoreCase(config.getString("System.Audit.Format")) ? CoinAuditLog.Format.JSON : CoinAuditLog.Format.CSV;
+        auditBufferSize = Math.max(1, config.getInt("System.Audit.BufferSize", 4096));
+        auditMaxBytes = Math.max(0L, config.getLong("System.Audit.MaxSizeMB", 16L)) * 1024L * 1024L;
+        auditRotateMillis = TimeUnit.HOURS.toMillis(Math.max(0L, config.getLong("System.Audit.RotateHours", 24L)));
+        auditCompress = config.getBoolean("System.Audit.Compress", true);
+    }
+
+    private static Set<DebugCategory> loadDebugCategories(List<String> names)
+    {
+        Set<DebugCategory> categories = EnumSet.noneOf(DebugCategory.class);
+
+        for (String name : names) {
+            DebugCategory category = DebugCategory.fromName(name);
+            if (category != null) {
+                categories.add(category);
+            }
+            else {
+                LoggerUtil.getInstance().warning("Unknown debug category: " + name);
+            }
+        }
+
+        return categories;
+    }
+
+    public static WorldSettings loadWorldSettings(WorldSettings settings, FileConfiguration config, long gainCacheTime, long partyCacheTime)
     {
         settings.setClearOnNoDrops(config.getBoolean("System.Hunting.ClearDefaultDrops", true));
         settings.setOverrideDrops(config.getBoolean("System.Hunting.OverrideDrops", true));
         settings.setNoFarm(config.getBoolean("System.Hunting.NoFarm", false));
         settings.setNoFarmFire(config.getBoolean("System.Hunting.NoFarmFire", false));
+        settings.setCoalesceTicks(Math.max(0L, config.getLong("System.Hunting.CoalesceTicks", 0L)));
+        settings.setCoalescedRewardMessage(loadCoinMessage(config, "System.Messages.CoalescedRewardMessage", COALESCED_REWARD_MESSAGE));
+        settings.setCoalescedPenaltyMessage(loadCoinMessage(config, "System.Messages.CoalescedPenaltyMessage", COALESCED_PENALTY_MESSAGE));
 
-        settings.setGainMultipliers(loadGainMultipliers(config));
-        settings.setParties(loadParties(config));
-        settings.setRewardSettings(loadRewardSettings(config));
+        settings.setGainMultipliers(new GainMultipliers(loadGainMultipliers(config), gainCacheTime));
+        settings.setPartyCache(new PartyCache(loadParties(config), partyCacheTime));
+        settings.setRewardTable(RewardDispatchTable.compile(loadRewardSettings(config)));
 
         return settings;
     }
 
+    private static Message loadCoinMessage(ConfigurationSection config, String path, String defaultTemplate)
+    {
+        return AbstractRewardSettings.configureMessage(new CoinMessageDecorator(new DefaultMessage(config.getString(path, defaultTemplate))), config);
+    }
+
     private static Set<PlayerGain> loadGainMultipliers(ConfigurationSection config)
     {
         Set<PlayerGain> gainMultipliers = new HashSet<PlayerGain>();
@@ -267,9 +600,57 @@ public class PluginConfig
         }
 
         config.load(file);
-        config.setDefaults(YamlConfiguration.loadConfiguration(plugin.getResource(DEFAULT_FILE)));
+        config.setDefaults(getDefaults());
         config.options().copyDefaults(true);
 
         return config;
     }
+
+    private synchronized YamlConfiguration getDefaults()
+    {
+        if (defaults == null) {
+            defaults = YamlConfiguration.loadConfiguration(plugin.getResource(DEFAULT_FILE));
+        }
+        return defaults;
+    }
+
+    private static final class WorldConfig
+    {
+        private final FileConfiguration config;
+        private final WorldSettings settings;
+
+        private WorldConfig(FileConfiguration config, WorldSettings settings)
+        {
+            this.config = config;
+            this.settings = settings;
+        }
+    }
+
+    private final class WorldConfigLoader implements Callable<WorldConfig>
+    {
+        private final String worldName;
+        private final File file;
+        private final ConfigSnapshot snapshot;
+
+        private WorldConfigLoader(String worldName, File file, ConfigSnapshot snapshot)
+        {
+            this.worldName = worldName;
+            this.file = file;
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        public WorldConfig call() throws IOException, InvalidConfigurationException
+        {
+            long start = System.nanoTime();
+            FileConfiguration config = snapshot != null ? snapshot.getConfig(file.getName()) : null;
+            if (config == null) {
+                config = getConfig(file);
+            }
+            WorldSettings settings = loadWorldSettings(new WorldSettings(), config, gainCacheTime, partyCacheTime);
+
+            LoggerUtil.getInstance().info(String.format("Loaded config for %s world in %d ms.", worldName, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+            return new WorldConfig(config, settings);
+        }
+    }
 }
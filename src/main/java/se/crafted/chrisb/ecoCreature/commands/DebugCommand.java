@@ -20,17 +20,31 @@
 package se.crafted.chrisb.ecoCreature.commands;
 
 import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
 
+import se.crafted.chrisb.ecoCreature.ecoCreature;
+import se.crafted.chrisb.ecoCreature.commons.DebugCategory;
+import se.crafted.chrisb.ecoCreature.commons.DependencyUtils;
 import se.crafted.chrisb.ecoCreature.commons.LoggerUtil;
+import se.crafted.chrisb.ecoCreature.commons.PermissionCache;
+import se.crafted.chrisb.ecoCreature.commons.TickBudgetQueue;
+import se.crafted.chrisb.ecoCreature.economy.CoinAuditLog;
+import se.crafted.chrisb.ecoCreature.economy.RewardCoalescer;
+import se.crafted.chrisb.ecoCreature.rewards.parties.PartyCache;
+import se.crafted.chrisb.ecoCreature.settings.SpawnerMobRegistry;
+import se.crafted.chrisb.ecoCreature.settings.WorldSettings;
 
 public class DebugCommand extends BasicCommand
 {
-    public DebugCommand()
+    private final ecoCreature plugin;
+
+    public DebugCommand(ecoCreature plugin)
     {
         super("Debug");
-        setDescription("Toggle debug log output");
-        setUsage("/ecoc debug");
-        setArgumentRange(0, 0);
+        this.plugin = plugin;
+        setDescription("Toggle debug log output or show cache statistics");
+        setUsage("/ecoc debug §8[<category>|perms|partycache|spawners|audit|coalesce|queue|gain <player>]");
+        setArgumentRange(0, 2);
         setIdentifiers("debug");
         setPermission("ecocreature.command.debug");
     }
@@ -38,8 +52,115 @@ public class DebugCommand extends BasicCommand
     @Override
     public boolean execute(CommandSender sender, String identifier, String[] args)
     {
-        LoggerUtil.getInstance().setDebug(!LoggerUtil.getInstance().isDebug());
-        sender.sendMessage(LoggerUtil.getInstance().isDebug() ? "debug log enabled." : "debug log disabled.");
+        if (args.length == 0) {
+            LoggerUtil.getInstance().setDebug(!LoggerUtil.getInstance().isDebug());
+            sender.sendMessage(LoggerUtil.getInstance().isDebug() ? "debug log enabled." : "debug log disabled.");
+        }
+        else if (args[0].equalsIgnoreCase("perms")) {
+            showPermissionCache(sender);
+        }
+        else if (args[0].equalsIgnoreCase("partycache")) {
+            showPartyCache(sender);
+        }
+        else if (args[0].equalsIgnoreCase("spawners")) {
+            showSpawnerMobs(sender);
+        }
+        else if (args[0].equalsIgnoreCase("audit")) {
+            showAuditLog(sender);
+        }
+        else if (args[0].equalsIgnoreCase("coalesce")) {
+            showCoalescer(sender);
+        }
+        else if (args[0].equalsIgnoreCase("queue")) {
+            showRewardQueue(sender);
+        }
+        else if (args[0].equalsIgnoreCase("gain") && args.length == 2) {
+            showGain(sender, args[1]);
+        }
+        else if (DebugCategory.fromName(args[0]) != null && args.length == 1) {
+            toggleCategory(sender, DebugCategory.fromName(args[0]));
+        }
+        else {
+            sender.sendMessage("Usage: " + getUsage());
+        }
         return true;
     }
+
+    private static void toggleCategory(CommandSender sender, DebugCategory category)
+    {
+        boolean enabled = LoggerUtil.getInstance().toggleDebugCategory(category);
+        sender.sendMessage(String.format("%s debug log %s, logging %s.", category, enabled ? "enabled" : "disabled",
+                LoggerUtil.getInstance().getDebugCategories()));
+    }
+
+    private void showGain(CommandSender sender, String playerName)
+    {
+        Player player = plugin.getServer().getPlayer(playerName);
+
+        if (player == null) {
+            sender.sendMessage("No online player matches " + playerName);
+            return;
+        }
+
+        WorldSettings settings = plugin.getPluginConfig().getWorldSettings(player.getWorld());
+        double multiplier = settings.getGainMultiplier(player);
+
+        sender.sendMessage(String.format("Gain for %s in %s: %.3f", player.getName(), player.getWorld().getName(), multiplier));
+        for (String line : settings.getGainContext(player).getBreakdown()) {
+            sender.sendMessage("  " + line);
+        }
+    }
+
+    private void showSpawnerMobs(CommandSender sender)
+    {
+        SpawnerMobRegistry registry = plugin.getSpawnerMobRegistry();
+        sender.sendMessage(String.format("Spawner mobs: %d tracked, %d slots, %d bytes", registry.size(), registry.capacity(), registry.getFootprint()));
+        sender.sendMessage(String.format("Known spawners: %d", registry.getSpawnerCount()));
+    }
+
+    private void showCoalescer(CommandSender sender)
+    {
+        RewardCoalescer coalescer = plugin.getRewardCoalescer();
+        sender.sendMessage(String.format("Coalesced rewards: %d windows, %d events folded, %d open", coalescer.getWindowCount(), coalescer.getFoldedCount(),
+                coalescer.getOpenWindows()));
+    }
+
+    private void showRewardQueue(CommandSender sender)
+    {
+        TickBudgetQueue queue = plugin.getRewardQueue();
+
+        sender.sendMessage(queue.isEnabled() ? "Reward queue enabled." : "Reward queue disabled.");
+        sender.sendMessage(String.format("%d queued (max %d), %d run, %d backlogs", queue.getQueueDepth(), queue.getMaxQueueDepth(), queue.getExecutedCount(),
+                queue.getBacklogCount()));
+        sender.sendMessage(String.format("Drain time: last %d ticks, max %d ticks", queue.getLastDrainTicks(), queue.getMaxDrainTicks()));
+    }
+
+    private static void showAuditLog(CommandSender sender)
+    {
+        CoinAuditLog auditLog = CoinAuditLog.getInstance();
+
+        sender.sendMessage(auditLog.isEnabled() ? "Coin audit log enabled." : "Coin audit log disabled.");
+        sender.sendMessage(String.format("%d records, %d dropped on overflow, %d queued", auditLog.getRecordedCount(), auditLog.getOverflowCount(), auditLog.getQueueDepth()));
+    }
+
+    private static void showPermissionCache(CommandSender sender)
+    {
+        PermissionCache cache = DependencyUtils.getPermissionCache();
+        long hits = cache.getHits();
+        long misses = cache.getMisses();
+        long total = hits + misses;
+
+        sender.sendMessage(String.format("Permission cache: %d hits, %d misses (%.1f%% hit rate)", hits, misses, total > 0 ? hits * 100.0 / total : 0.0));
+        sender.sendMessage(String.format("%d players cached, %d nodes, ttl %d s", cache.getPlayerCount(), cache.getNodeCount(), cache.getTimeToLive() / 1000));
+    }
+
+    private void showPartyCache(CommandSender sender)
+    {
+        long hits = PartyCache.getHits();
+        long misses = PartyCache.getMisses();
+        long total = hits + misses;
+
+        sender.sendMessage(String.format("Party cache: %d hits, %d misses (%.1f%% hit rate)", hits, misses, total > 0 ? hits * 100.0 / total : 0.0));
+        sender.sendMessage(String.format("%d players cached", plugin.getPluginConfig().getPartyCacheSize()));
+    }
 }
@@ -41,8 +41,12 @@ public class ReloadCommand extends BasicCommand
     @Override
     public boolean execute(CommandSender sender, String identifier, String[] args)
     {
-        plugin.reloadConfig();
-        sender.sendMessage("ecoCreature config reloaded.");
+        if (plugin.reloadConfigAsync(sender)) {
+            sender.sendMessage("Reloading ecoCreature config...");
+        }
+        else {
+            sender.sendMessage("ecoCreature config is already being reloaded.");
+        }
         return true;
     }
 }
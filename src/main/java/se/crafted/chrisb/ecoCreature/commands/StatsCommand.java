@@ -0,0 +1,94 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.commands;
+
+import java.util.Map;
+
+import org.bukkit.command.CommandSender;
+
+import se.crafted.chrisb.ecoCreature.metrics.LatencyHistogram;
+import se.crafted.chrisb.ecoCreature.metrics.Stage;
+import se.crafted.chrisb.ecoCreature.metrics.StageStats;
+
+public class StatsCommand extends BasicCommand
+{
+    public StatsCommand()
+    {
+        super("Stats");
+        setDescription("Show reward stage timings per world");
+        setUsage("/ecoc stats §8[on|off|reset]");
+        setArgumentRange(0, 1);
+        setIdentifiers("stats");
+        setPermission("ecocreature.command.stats");
+    }
+
+    @Override
+    public boolean execute(CommandSender sender, String identifier, String[] args)
+    {
+        StageStats stats = StageStats.getInstance();
+
+        if (args.length == 0) {
+            showStats(sender, stats);
+        }
+        else if (args[0].equalsIgnoreCase("on") || args[0].equalsIgnoreCase("off")) {
+            stats.setEnabled(args[0].equalsIgnoreCase("on"));
+            sender.sendMessage(stats.isEnabled() ? "stage timings enabled." : "stage timings disabled.");
+        }
+        else if (args[0].equalsIgnoreCase("reset")) {
+            stats.reset();
+            sender.sendMessage("stage timings reset.");
+        }
+        else {
+            sender.sendMessage("Usage: " + getUsage());
+        }
+        return true;
+    }
+
+    private static void showStats(CommandSender sender, StageStats stats)
+    {
+        Map<String, LatencyHistogram[]> histograms = stats.getHistograms();
+
+        if (histograms.isEmpty()) {
+            sender.sendMessage(stats.isEnabled() ? "No stage timings recorded yet." : "Stage timings are disabled, use /ecoc stats on");
+            return;
+        }
+
+        for (Map.Entry<String, LatencyHistogram[]> entry : histograms.entrySet()) {
+            sender.sendMessage(StageStats.GLOBAL.equals(entry.getKey()) ? "§eOther:" : "§eWorld " + entry.getKey() + ":");
+
+            for (Stage stage : Stage.values()) {
+                LatencyHistogram histogram = entry.getValue()[stage.ordinal()];
+
+                if (histogram.getCount() > 0) {
+                    sender.sendMessage(String.format("  %-10s n=%d p50=%s p99=%s max=%s", stage, histogram.getCount(),
+                            formatNanos(histogram.getPercentile(50.0)), formatNanos(histogram.getPercentile(99.0)), formatNanos(histogram.getMax())));
+                }
+            }
+        }
+    }
+
+    private static String formatNanos(long nanos)
+    {
+        if (nanos >= 1000000L) {
+            return String.format("%.2fms", nanos / 1000000.0);
+        }
+        return String.format("%.1fus", nanos / 1000.0);
+    }
+}
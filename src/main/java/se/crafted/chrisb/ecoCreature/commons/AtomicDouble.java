@@ -0,0 +1,64 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.commons;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class AtomicDouble
+{
+    private final AtomicLong bits;
+
+    public AtomicDouble()
+    {
+        this(0.0);
+    }
+
+    public AtomicDouble(double value)
+    {
+        bits = new AtomicLong(Double.doubleToRawLongBits(value));
+    }
+
+    public double get()
+    {
+        return Double.longBitsToDouble(bits.get());
+    }
+
+    public double getAndSet(double value)
+    {
+        return Double.longBitsToDouble(bits.getAndSet(Double.doubleToRawLongBits(value)));
+    }
+
+    public double addAndGet(double delta)
+    {
+        while (true) {
+            long current = bits.get();
+            double next = Double.longBitsToDouble(current) + delta;
+            if (bits.compareAndSet(current, Double.doubleToRawLongBits(next))) {
+                return next;
+            }
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return Double.toString(get());
+    }
+}
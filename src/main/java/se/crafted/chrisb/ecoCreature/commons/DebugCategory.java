@@ -0,0 +1,53 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.commons;
+
+public enum DebugCategory
+{
+    GENERAL("General"),
+    RULES("Rules"),
+    GAINS("Gains"),
+    PARTIES("Parties"),
+    ECONOMY("Economy"),
+    CONFIG("Config");
+
+    private final String name;
+
+    private DebugCategory(String name)
+    {
+        this.name = name;
+    }
+
+    public static DebugCategory fromName(String name)
+    {
+        for (DebugCategory category : values()) {
+            if (category.name.equalsIgnoreCase(name)) {
+                return category;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString()
+    {
+        return name;
+    }
+}
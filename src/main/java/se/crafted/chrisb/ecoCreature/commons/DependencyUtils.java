@@ -54,6 +54,8 @@ public final class DependencyUtils
     private static Permission permission;
     private static Economy economy;
 
+    private static final PermissionCache permissionCache = new PermissionCache();
+
     private DependencyUtils()
     {
     }
@@ -62,6 +64,7 @@ public final class DependencyUtils
     {
         initPlugins();
         initVault();
+        permissionCache.invalidateAll();
     }
 
     private static void initPlugins()
@@ -114,14 +117,35 @@ public final class DependencyUtils
 
     public static boolean hasPermission(Player player, String perm)
     {
-        String mixedCasePerm = "ecoCreature." + perm;
+        return permissionCache.hasPermission(player, permissionCache.getNode(perm));
+    }
+
+    public static boolean hasPermission(Player player, int node)
+    {
+        return permissionCache.hasPermission(player, node);
+    }
+
+    public static int getPermissionNode(String perm)
+    {
+        return permissionCache.getNode(perm);
+    }
+
+    public static PermissionCache getPermissionCache()
+    {
+        return permissionCache;
+    }
+
+    static boolean checkPermission(Player player, int node)
+    {
+        String mixedCasePerm = permissionCache.getNodeName(node);
+        String lowerCasePerm = permissionCache.getLowerCaseNodeName(node);
 
         boolean isAllowed = hasPermission() ? permission.has(player.getWorld(), player.getName(), mixedCasePerm)
-                || permission.has(player.getWorld(), player.getName(), mixedCasePerm.toLowerCase()) : player.hasPermission(mixedCasePerm)
-                || player.hasPermission(mixedCasePerm.toLowerCase());
+                || permission.has(player.getWorld(), player.getName(), lowerCasePerm) : player.hasPermission(mixedCasePerm)
+                || player.hasPermission(lowerCasePerm);
 
         if (!isAllowed) {
-            LoggerUtil.getInstance().debug(player.getName() + " denied permission for " + mixedCasePerm.toLowerCase());
+            LoggerUtil.getInstance().debug(DebugCategory.RULES, "%s denied permission for %s", player.getName(), lowerCasePerm);
         }
 
         return isAllowed;
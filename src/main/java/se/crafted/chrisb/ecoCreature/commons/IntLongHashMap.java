@@ -0,0 +1,241 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.commons;
+
+import java.util.Arrays;
+
+public class IntLongHashMap
+{
+    private static final int DEFAULT_CAPACITY = 64;
+    private static final int FREE_KEY = 0;
+    private static final int OBJECT_HEADER_BYTES = 16;
+    private static final int ARRAY_HEADER_BYTES = 16;
+
+    private int[] keys;
+    private long[] values;
+    private int size;
+    private int threshold;
+
+    private boolean hasFreeKey;
+    private long freeValue;
+
+    public IntLongHashMap()
+    {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public IntLongHashMap(int expectedSize)
+    {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    public long get(int key, long defaultValue)
+    {
+        if (key == FREE_KEY) {
+            return hasFreeKey ? freeValue : defaultValue;
+        }
+
+        int mask = keys.length - 1;
+        for (int slot = hash(key) & mask; keys[slot] != FREE_KEY; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+        }
+
+        return defaultValue;
+    }
+
+    public boolean containsKey(int key)
+    {
+        if (key == FREE_KEY) {
+            return hasFreeKey;
+        }
+
+        int mask = keys.length - 1;
+        for (int slot = hash(key) & mask; keys[slot] != FREE_KEY; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public void put(int key, long value)
+    {
+        if (key == FREE_KEY) {
+            if (!hasFreeKey) {
+                size++;
+            }
+            hasFreeKey = true;
+            freeValue = value;
+            return;
+        }
+
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+
+        while (keys[slot] != FREE_KEY) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+
+        if (++size > threshold) {
+            rehash(keys.length * 2);
+        }
+    }
+
+    public boolean remove(int key)
+    {
+        if (key == FREE_KEY) {
+            if (hasFreeKey) {
+                hasFreeKey = false;
+                size--;
+                return true;
+            }
+            return false;
+        }
+
+        int mask = keys.length - 1;
+        for (int slot = hash(key) & mask; keys[slot] != FREE_KEY; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                shiftKeys(slot);
+                size--;
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    public int[] keys()
+    {
+        int[] result = new int[size];
+        int index = 0;
+
+        if (hasFreeKey) {
+            result[index++] = FREE_KEY;
+        }
+        for (int key : keys) {
+            if (key != FREE_KEY) {
+                result[index++] = key;
+            }
+        }
+
+        return result;
+    }
+
+    public int capacity()
+    {
+        return keys.length;
+    }
+
+    public void clear()
+    {
+        Arrays.fill(keys, FREE_KEY);
+        hasFreeKey = false;
+        size = 0;
+    }
+
+    public long getFootprint()
+    {
+        return OBJECT_HEADER_BYTES + 2L * ARRAY_HEADER_BYTES + keys.length * 4L + values.length * 8L;
+    }
+
+    private void shiftKeys(int slot)
+    {
+        int mask = keys.length - 1;
+        int last = slot;
+        slot = (slot + 1) & mask;
+
+        // Backward shift deletion keeps probe chains intact without tombstones
+        while (keys[slot] != FREE_KEY) {
+            int home = hash(keys[slot]) & mask;
+            boolean movable = last <= slot ? (home <= last || home > slot) : (home <= last && home > slot);
+
+            if (movable) {
+                keys[last] = keys[slot];
+                values[last] = values[slot];
+                last = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[last] = FREE_KEY;
+    }
+
+    private void rehash(int newCapacity)
+    {
+        int[] oldKeys = keys;
+        long[] oldValues = values;
+
+        allocate(newCapacity);
+
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE_KEY) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (keys[slot] != FREE_KEY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity)
+    {
+        keys = new int[capacity];
+        values = new long[capacity];
+        threshold = capacity / 2;
+    }
+
+    private static int tableSizeFor(int expectedSize)
+    {
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity / 2 < expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int hash(int key)
+    {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -19,16 +19,24 @@
  */
 package se.crafted.chrisb.ecoCreature.commons;
 
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.logging.Logger;
 
 public final class LoggerUtil
 {
     private static final String LOG_NAME = "ecoCreature";
+    private static final int ALL_CATEGORIES = (1 << DebugCategory.values().length) - 1;
     private static LoggerUtil instance = new LoggerUtil();
 
+    private final AtomicLongArray sampleCounters = new AtomicLongArray(DebugCategory.values().length);
     private Logger logger;
     private String name;
-    private boolean debug;
+    private volatile boolean debug;
+    private volatile int categories;
+    private volatile int sampleRate;
 
     public static LoggerUtil getInstance()
     {
@@ -39,6 +47,8 @@ public final class LoggerUtil
     {
         logger = Logger.getLogger("Minecraft");
         debug = false;
+        categories = ALL_CATEGORIES;
+        sampleRate = 1;
         name = LOG_NAME;
     }
 
@@ -52,6 +62,51 @@ public final class LoggerUtil
         this.debug = debug;
     }
 
+    public boolean isDebug(DebugCategory category)
+    {
+        return debug && (categories & mask(category)) != 0;
+    }
+
+    public Set<DebugCategory> getDebugCategories()
+    {
+        Set<DebugCategory> enabled = EnumSet.noneOf(DebugCategory.class);
+
+        for (DebugCategory category : DebugCategory.values()) {
+            if ((categories & mask(category)) != 0) {
+                enabled.add(category);
+            }
+        }
+
+        return enabled;
+    }
+
+    public void setDebugCategories(Collection<DebugCategory> enabled)
+    {
+        int mask = 0;
+
+        for (DebugCategory category : enabled) {
+            mask |= mask(category);
+        }
+
+        categories = enabled.isEmpty() ? ALL_CATEGORIES : mask;
+    }
+
+    public synchronized boolean toggleDebugCategory(DebugCategory category)
+    {
+        categories ^= mask(category);
+        return (categories & mask(category)) != 0;
+    }
+
+    public int getSampleRate()
+    {
+        return sampleRate;
+    }
+
+    public void setSampleRate(int sampleRate)
+    {
+        this.sampleRate = Math.max(1, sampleRate);
+    }
+
     public String getName()
     {
         return name;
@@ -79,11 +134,36 @@ public final class LoggerUtil
 
     public void debug(String msg)
     {
-        if (debug) {
-            @SuppressWarnings("restriction")
-            Class<?> aClass = sun.reflect.Reflection.getCallerClass(2);
+        if (isDebug(DebugCategory.GENERAL) && sample(DebugCategory.GENERAL)) {
+            log(DebugCategory.GENERAL, msg);
+        }
+    }
+
+    public void debug(DebugCategory category, String msg)
+    {
+        if (isDebug(category) && sample(category)) {
+            log(category, msg);
+        }
+    }
+
+    public void debug(DebugCategory category, String format, Object arg)
+    {
+        if (isDebug(category) && sample(category)) {
+            log(category, String.format(format, arg));
+        }
+    }
+
+    public void debug(DebugCategory category, String format, Object arg1, Object arg2)
+    {
+        if (isDebug(category) && sample(category)) {
+            log(category, String.format(format, arg1, arg2));
+        }
+    }
 
-            logger.info(format(aClass.getSimpleName() + ": " + msg));
+    public void debug(DebugCategory category, String format, Object... args)
+    {
+        if (isDebug(category) && sample(category)) {
+            log(category, String.format(format, args));
         }
     }
 
@@ -91,4 +171,20 @@ public final class LoggerUtil
     {
         return String.format("[%s] %s", name, msg);
     }
+
+    private boolean sample(DebugCategory category)
+    {
+        int rate = sampleRate;
+        return rate <= 1 || sampleCounters.getAndIncrement(category.ordinal()) % rate == 0;
+    }
+
+    private void log(DebugCategory category, String msg)
+    {
+        logger.info(String.format("[%s] %s: %s", name, category, msg));
+    }
+
+    private static int mask(DebugCategory category)
+    {
+        return 1 << category.ordinal();
+    }
 }
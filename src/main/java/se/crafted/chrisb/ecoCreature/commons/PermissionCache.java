@@ -0,0 +1,198 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.commons;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bukkit.entity.Player;
+
+public class PermissionCache
+{
+    public static final long DEFAULT_TIME_TO_LIVE = TimeUnit.SECONDS.toMillis(60);
+
+    private static final String NODE_PREFIX = "ecoCreature.";
+    private static final byte UNKNOWN = 0;
+    private static final byte ALLOWED = 1;
+    private static final byte DENIED = 2;
+
+    private final ConcurrentMap<String, Integer> nodeIds;
+    private final List<String> nodes;
+    private final List<String> lowerCaseNodes;
+    private final ConcurrentMap<String, PlayerPermissions> players;
+
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+
+    private volatile long timeToLive;
+
+    public PermissionCache()
+    {
+        nodeIds = new ConcurrentHashMap<String, Integer>();
+        nodes = new ArrayList<String>();
+        lowerCaseNodes = new ArrayList<String>();
+        players = new ConcurrentHashMap<String, PlayerPermissions>();
+
+        hits = new AtomicLong();
+        misses = new AtomicLong();
+        timeToLive = DEFAULT_TIME_TO_LIVE;
+    }
+
+    public int getNode(String perm)
+    {
+        Integer id = nodeIds.get(perm);
+        return id != null ? id.intValue() : addNode(perm);
+    }
+
+    private synchronized int addNode(String perm)
+    {
+        Integer id = nodeIds.get(perm);
+
+        if (id == null) {
+            String node = NODE_PREFIX + perm;
+            nodes.add(node);
+            lowerCaseNodes.add(node.toLowerCase());
+            id = Integer.valueOf(nodes.size() - 1);
+            nodeIds.put(perm, id);
+        }
+
+        return id.intValue();
+    }
+
+    public synchronized String getNodeName(int node)
+    {
+        return nodes.get(node);
+    }
+
+    public synchronized String getLowerCaseNodeName(int node)
+    {
+        return lowerCaseNodes.get(node);
+    }
+
+    public boolean hasPermission(Player player, int node)
+    {
+        if (timeToLive <= 0) {
+            misses.incrementAndGet();
+            return DependencyUtils.checkPermission(player, node);
+        }
+
+        long now = System.currentTimeMillis();
+        PlayerPermissions permissions = players.get(player.getName());
+
+        if (permissions == null || permissions.isExpired(now)) {
+            permissions = new PlayerPermissions(now + timeToLive);
+            players.put(player.getName(), permissions);
+        }
+
+        byte decision = permissions.get(node);
+        if (decision != UNKNOWN) {
+            hits.incrementAndGet();
+            return decision == ALLOWED;
+        }
+
+        misses.incrementAndGet();
+        boolean allowed = DependencyUtils.checkPermission(player, node);
+        permissions.set(node, allowed ? ALLOWED : DENIED);
+
+        return allowed;
+    }
+
+    public void invalidate(String player)
+    {
+        players.remove(player);
+    }
+
+    public void invalidateAll()
+    {
+        players.clear();
+    }
+
+    public long getTimeToLive()
+    {
+        return timeToLive;
+    }
+
+    public void setTimeToLive(long timeToLive)
+    {
+        this.timeToLive = timeToLive;
+        invalidateAll();
+    }
+
+    public long getHits()
+    {
+        return hits.get();
+    }
+
+    public long getMisses()
+    {
+        return misses.get();
+    }
+
+    public int getPlayerCount()
+    {
+        return players.size();
+    }
+
+    public int getNodeCount()
+    {
+        return nodeIds.size();
+    }
+
+    private static final class PlayerPermissions
+    {
+        private final long expires;
+        private volatile byte[] decisions;
+
+        PlayerPermissions(long expires)
+        {
+            this.expires = expires;
+            decisions = new byte[0];
+        }
+
+        boolean isExpired(long now)
+        {
+            return now >= expires;
+        }
+
+        byte get(int node)
+        {
+            byte[] current = decisions;
+            return node < current.length ? current[node] : UNKNOWN;
+        }
+
+        synchronized void set(int node, byte decision)
+        {
+            byte[] current = decisions;
+
+            if (node >= current.length) {
+                byte[] grown = new byte[Math.max(node + 1, current.length * 2)];
+                System.arraycopy(current, 0, grown, 0, current.length);
+                current = grown;
+            }
+
+            current[node] = decision;
+            decisions = current;
+        }
+    }
+}
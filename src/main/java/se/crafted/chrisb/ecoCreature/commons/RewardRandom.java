@@ -0,0 +1,132 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.commons;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-thread SplitMix64 generator for reward rolls. Each thread draws its
+ * seed from a shared sequence, so setting a seed makes the rolls on a given
+ * thread repeatable.
+ */
+public final class RewardRandom
+{
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+    private static final AtomicLong seeder = new AtomicLong(randomSeed());
+    private static volatile int generation;
+    private static final ThreadLocal<RewardRandom> local = new ThreadLocal<RewardRandom>()
+    {
+        @Override
+        protected RewardRandom initialValue()
+        {
+            return new RewardRandom();
+        }
+    };
+
+    private long state;
+    private int seedGeneration = -1;
+
+    private RewardRandom()
+    {
+    }
+
+    public static RewardRandom current()
+    {
+        RewardRandom random = local.get();
+
+        if (random.seedGeneration != generation) {
+            random.reseed();
+        }
+
+        return random;
+    }
+
+    public static synchronized void setSeed(long seed)
+    {
+        seeder.set(seed);
+        generation++;
+    }
+
+    public static synchronized void clearSeed()
+    {
+        seeder.set(randomSeed());
+        generation++;
+    }
+
+    public long nextLong()
+    {
+        state += GOLDEN_GAMMA;
+        return mix64(state);
+    }
+
+    public double nextDouble()
+    {
+        return (nextLong() >>> 11) * DOUBLE_UNIT;
+    }
+
+    public int nextInt(int bound)
+    {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+
+        int r = (int) (nextLong() >>> 33);
+        int m = bound - 1;
+
+        if ((bound & m) == 0) {
+            return (int) ((bound * (long) r) >> 31);
+        }
+
+        for (int u = r; u - (r = u % bound) + m < 0; u = (int) (nextLong() >>> 33)) {
+        }
+
+        return r;
+    }
+
+    public int nextInt(int min, int max)
+    {
+        return min >= max ? min : min + nextInt(max - min + 1);
+    }
+
+    public double nextDouble(double min, double max)
+    {
+        return min >= max ? min : min + nextDouble() * (max - min);
+    }
+
+    private void reseed()
+    {
+        seedGeneration = generation;
+        state = mix64(seeder.getAndAdd(GOLDEN_GAMMA));
+    }
+
+    private static long randomSeed()
+    {
+        return mix64(System.currentTimeMillis()) ^ mix64(System.nanoTime());
+    }
+
+    private static long mix64(long z)
+    {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.commons;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Runs submitted work on the main thread from a repeating task, spending at
+ * most the given budget per tick. Work submitted while no budget is set runs
+ * right away. Work submitted for a player can be run early with
+ * {@link #drain(String)}, so nothing is left behind when their payouts flush.
+ */
+public class TickBudgetQueue implements Runnable
+{
+    private final Plugin plugin;
+    private final Queue<OwnedWork> queue;
+
+    private final AtomicLong executedCount;
+    private final AtomicLong backlogCount;
+    private final AtomicLong lastDrainTicks;
+    private final AtomicLong maxDrainTicks;
+    private final AtomicLong maxQueueDepth;
+
+    private volatile BukkitTask task;
+    private volatile int queueDepth;
+    private long budgetNanos;
+    private int backlogTicks;
+
+    public TickBudgetQueue(Plugin plugin)
+    {
+        this.plugin = plugin;
+        queue = new ArrayDeque<OwnedWork>();
+
+        executedCount = new AtomicLong();
+        backlogCount = new AtomicLong();
+        lastDrainTicks = new AtomicLong();
+        maxDrainTicks = new AtomicLong();
+        maxQueueDepth = new AtomicLong();
+    }
+
+    public synchronized void schedule(long budgetNanos)
+    {
+        if (task != null && this.budgetNanos == budgetNanos) {
+            return;
+        }
+
+        cancel();
+        drain();
+        this.budgetNanos = budgetNanos;
+
+        if (budgetNanos > 0) {
+            task = Bukkit.getScheduler().runTaskTimer(plugin, this, 1L, 1L);
+            if (task.getTaskId() < 0) {
+                LoggerUtil.getInstance().warning("Failed to schedule TickBudgetQueue task.");
+                task = null;
+            }
+        }
+    }
+
+    public synchronized void shutdown()
+    {
+        cancel();
+        drain();
+    }
+
+    private void cancel()
+    {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    public boolean isEnabled()
+    {
+        return task != null;
+    }
+
+    public void submit(Runnable work)
+    {
+        submit(null, work);
+    }
+
+    public void submit(String owner, Runnable work)
+    {
+        if (!isEnabled()) {
+            execute(work);
+            return;
+        }
+
+        queue.add(new OwnedWork(owner, work));
+        queueDepth = queue.size();
+
+        if (queueDepth > maxQueueDepth.get()) {
+            maxQueueDepth.set(queueDepth);
+        }
+    }
+
+    @Override
+    public void run()
+    {
+        if (queue.isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        do {
+            execute(queue.poll());
+        }
+        while (!queue.isEmpty() && System.nanoTime() - start < budgetNanos);
+
+        backlogTicks++;
+        queueDepth = queue.size();
+
+        if (queue.isEmpty()) {
+            recordDrain(backlogTicks);
+            backlogTicks = 0;
+        }
+    }
+
+    /**
+     * Runs the pending work submitted for the given player right away, in the
+     * order it was submitted.
+     */
+    public void drain(String owner)
+    {
+        if (owner == null || queue.isEmpty()) {
+            return;
+        }
+
+        List<OwnedWork> pending = new ArrayList<OwnedWork>();
+        for (Iterator<OwnedWork> iter = queue.iterator(); iter.hasNext();) {
+            OwnedWork work = iter.next();
+            if (owner.equals(work.owner)) {
+                pending.add(work);
+                iter.remove();
+            }
+        }
+        queueDepth = queue.size();
+
+        for (OwnedWork work : pending) {
+            execute(work);
+        }
+    }
+
+    private void drain()
+    {
+        while (!queue.isEmpty()) {
+            execute(queue.poll());
+        }
+
+        if (backlogTicks > 0) {
+            recordDrain(backlogTicks);
+            backlogTicks = 0;
+        }
+        queueDepth = 0;
+    }
+
+    private void execute(Runnable work)
+    {
+        try {
+            work.run();
+        }
+        catch (RuntimeException e) {
+            LoggerUtil.getInstance().severe("Deferred reward failed: " + e.toString());
+        }
+        executedCount.incrementAndGet();
+    }
+
+    private void recordDrain(int ticks)
+    {
+        lastDrainTicks.set(ticks);
+
+        if (ticks > maxDrainTicks.get()) {
+            maxDrainTicks.set(ticks);
+        }
+        if (ticks > 1) {
+            backlogCount.incrementAndGet();
+            LoggerUtil.getInstance().debug(DebugCategory.GENERAL, "Deferred rewards took %d ticks to drain", ticks);
+        }
+    }
+
+    public int getQueueDepth()
+    {
+        return queueDepth;
+    }
+
+    public long getMaxQueueDepth()
+    {
+        return maxQueueDepth.get();
+    }
+
+    public long getExecutedCount()
+    {
+        return executedCount.get();
+    }
+
+    public long getBacklogCount()
+    {
+        return backlogCount.get();
+    }
+
+    public long getLastDrainTicks()
+    {
+        return lastDrainTicks.get();
+    }
+
+    public long getMaxDrainTicks()
+    {
+        return maxDrainTicks.get();
+    }
+
+    private static final class OwnedWork implements Runnable
+    {
+        private final String owner;
+        private final Runnable work;
+
+        private OwnedWork(String owner, Runnable work)
+        {
+            this.owner = owner;
+            this.work = work;
+        }
+
+        @Override
+        public void run()
+        {
+            work.run();
+        }
+    }
+}
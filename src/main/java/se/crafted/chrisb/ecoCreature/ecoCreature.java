@@ -19,7 +19,13 @@
  */
 package se.crafted.chrisb.ecoCreature;
 
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import org.bukkit.Bukkit;
+import org.bukkit.World;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
 import org.bukkit.plugin.java.JavaPlugin;
@@ -28,9 +34,14 @@ import se.crafted.chrisb.ecoCreature.commands.CommandHandler;
 import se.crafted.chrisb.ecoCreature.commands.DebugCommand;
 import se.crafted.chrisb.ecoCreature.commands.HelpCommand;
 import se.crafted.chrisb.ecoCreature.commands.ReloadCommand;
+import se.crafted.chrisb.ecoCreature.commands.StatsCommand;
 import se.crafted.chrisb.ecoCreature.commons.DependencyUtils;
 import se.crafted.chrisb.ecoCreature.commons.UpdateTask;
 import se.crafted.chrisb.ecoCreature.commons.LoggerUtil;
+import se.crafted.chrisb.ecoCreature.commons.TickBudgetQueue;
+import se.crafted.chrisb.ecoCreature.economy.CoinAuditLog;
+import se.crafted.chrisb.ecoCreature.economy.PayoutLedger;
+import se.crafted.chrisb.ecoCreature.economy.RewardCoalescer;
 import se.crafted.chrisb.ecoCreature.events.handlers.BlockEventHandler;
 import se.crafted.chrisb.ecoCreature.events.handlers.DeathStreakEventHandler;
 import se.crafted.chrisb.ecoCreature.events.handlers.EntityDeathEventHandler;
@@ -44,17 +55,28 @@ import se.crafted.chrisb.ecoCreature.events.handlers.PlayerKilledEventHandler;
 import se.crafted.chrisb.ecoCreature.events.listeners.BlockEventListener;
 import se.crafted.chrisb.ecoCreature.events.listeners.EntityDeathEventListener;
 import se.crafted.chrisb.ecoCreature.events.listeners.McMMOEventListener;
+import se.crafted.chrisb.ecoCreature.events.listeners.McMMOPartyEventListener;
+import se.crafted.chrisb.ecoCreature.events.listeners.MobArenaEventListener;
 import se.crafted.chrisb.ecoCreature.events.listeners.PlayerDeathEventListener;
 import se.crafted.chrisb.ecoCreature.events.listeners.HeroesEventListener;
+import se.crafted.chrisb.ecoCreature.events.listeners.HeroesPartyEventListener;
+import se.crafted.chrisb.ecoCreature.events.listeners.PlayerEventListener;
 import se.crafted.chrisb.ecoCreature.events.listeners.RewardEventListener;
 import se.crafted.chrisb.ecoCreature.events.listeners.SpawnEventListener;
 import se.crafted.chrisb.ecoCreature.events.listeners.StreakEventListener;
 import se.crafted.chrisb.ecoCreature.metrics.RewardMetrics;
+import se.crafted.chrisb.ecoCreature.settings.SpawnerMobRegistry;
 
 public class ecoCreature extends JavaPlugin
 {
+    private final AtomicBoolean reloading = new AtomicBoolean();
+
     private RewardMetrics metrics;
-    private PluginConfig pluginConfig;
+    private volatile PluginConfig pluginConfig;
+    private PayoutLedger payoutLedger;
+    private RewardCoalescer rewardCoalescer;
+    private TickBudgetQueue rewardQueue;
+    private SpawnerMobRegistry spawnerMobRegistry;
     private CommandHandler commandHandler;
 
     @Override
@@ -62,10 +84,21 @@ public class ecoCreature extends JavaPlugin
     {
         DependencyUtils.init();
 
-        metrics = new RewardMetrics(this);
+        metrics = new RewardMetrics();
+        payoutLedger = new PayoutLedger(this);
+        rewardCoalescer = new RewardCoalescer(this, payoutLedger);
+        rewardQueue = new TickBudgetQueue(this);
+        spawnerMobRegistry = new SpawnerMobRegistry(new File(getDataFolder(), "spawners"));
         pluginConfig = new PluginConfig(this);
 
         if (pluginConfig.isInitialized()) {
+            pluginConfig.activate();
+            payoutLedger.schedule(pluginConfig.getBatchIntervalTicks(), pluginConfig.isBatchAsync());
+            rewardQueue.schedule(pluginConfig.getTickBudgetNanos());
+            for (World world : getServer().getWorlds()) {
+                spawnerMobRegistry.loadWorld(world);
+            }
+
             addCommands();
             registerEvents();
 
@@ -81,6 +114,30 @@ public class ecoCreature extends JavaPlugin
     @Override
     public void onDisable()
     {
+        if (rewardQueue != null) {
+            rewardQueue.shutdown();
+        }
+
+        if (rewardCoalescer != null) {
+            rewardCoalescer.flush();
+        }
+
+        if (payoutLedger != null) {
+            payoutLedger.shutdown();
+        }
+
+        if (metrics != null) {
+            metrics.stopSinks();
+        }
+
+        CoinAuditLog.getInstance().stop();
+
+        if (spawnerMobRegistry != null) {
+            for (World world : getServer().getWorlds()) {
+                spawnerMobRegistry.saveWorld(world);
+            }
+        }
+
         getServer().getScheduler().cancelTasks(this);
     }
 
@@ -94,14 +151,113 @@ public class ecoCreature extends JavaPlugin
     public void reloadConfig()
     {
         super.reloadConfig();
-        pluginConfig = new PluginConfig(this);
+        PluginConfig config = new PluginConfig(this);
+
+        if (config.isInitialized()) {
+            setPluginConfig(config);
+        }
     };
 
+    public boolean reloadConfigAsync(final CommandSender sender)
+    {
+        if (!reloading.compareAndSet(false, true)) {
+            return false;
+        }
+
+        final List<String> worldNames = PluginConfig.getWorldNames(this);
+
+        Bukkit.getScheduler().runTaskAsynchronously(this, new Runnable() {
+
+            @Override
+            public void run()
+            {
+                long start = System.nanoTime();
+                PluginConfig config = null;
+                String error = null;
+
+                try {
+                    config = new PluginConfig(ecoCreature.this, worldNames);
+                    error = config.getError();
+                }
+                catch (RuntimeException e) {
+                    error = "Failed to load config: " + e.toString();
+                    LoggerUtil.getInstance().severe(error);
+                }
+
+                finishReload(sender, config, error, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+        });
+
+        return true;
+    }
+
+    private void finishReload(final CommandSender sender, final PluginConfig config, final String error, final long millis)
+    {
+        if (!isEnabled()) {
+            reloading.set(false);
+            return;
+        }
+
+        Bukkit.getScheduler().runTask(this, new Runnable() {
+
+            @Override
+            public void run()
+            {
+                try {
+                    if (config != null && config.isInitialized()) {
+                        setPluginConfig(config);
+                        sender.sendMessage("ecoCreature config reloaded in " + millis + " ms.");
+                    }
+                    else {
+                        sender.sendMessage("ecoCreature config not reloaded, keeping the current config. " + error);
+                    }
+                }
+                finally {
+                    reloading.set(false);
+                }
+            }
+        });
+    }
+
+    private void setPluginConfig(PluginConfig config)
+    {
+        config.activate();
+        pluginConfig = config;
+
+        if (payoutLedger != null) {
+            payoutLedger.schedule(config.getBatchIntervalTicks(), config.isBatchAsync());
+        }
+
+        if (rewardQueue != null) {
+            rewardQueue.schedule(config.getTickBudgetNanos());
+        }
+    }
+
     public RewardMetrics getMetrics()
     {
         return metrics;
     }
 
+    public PayoutLedger getPayoutLedger()
+    {
+        return payoutLedger;
+    }
+
+    public TickBudgetQueue getRewardQueue()
+    {
+        return rewardQueue;
+    }
+
+    public RewardCoalescer getRewardCoalescer()
+    {
+        return rewardCoalescer;
+    }
+
+    public SpawnerMobRegistry getSpawnerMobRegistry()
+    {
+        return spawnerMobRegistry;
+    }
+
     public PluginConfig getPluginConfig()
     {
         return pluginConfig;
@@ -117,13 +273,15 @@ public class ecoCreature extends JavaPlugin
         commandHandler = new CommandHandler();
         commandHandler.addCommand(new HelpCommand(this));
         commandHandler.addCommand(new ReloadCommand(this));
-        commandHandler.addCommand(new DebugCommand());
+        commandHandler.addCommand(new DebugCommand(this));
+        commandHandler.addCommand(new StatsCommand());
     }
 
     private void registerEvents()
     {
         Bukkit.getPluginManager().registerEvents(new RewardEventListener(this), this);
         Bukkit.getPluginManager().registerEvents(new SpawnEventListener(this), this);
+        Bukkit.getPluginManager().registerEvents(new PlayerEventListener(this), this);
 
         PluginEventHandler eventHandler = new PluginEventHandler();
         eventHandler.add(new BlockEventHandler(this));
@@ -145,11 +303,17 @@ public class ecoCreature extends JavaPlugin
         if (DependencyUtils.hasHeroes()) {
             eventHandler.add(new HeroesEventHandler(this));
             Bukkit.getPluginManager().registerEvents(new HeroesEventListener(eventHandler), this);
+            Bukkit.getPluginManager().registerEvents(new HeroesPartyEventListener(this), this);
         }
 
         if (DependencyUtils.hasMcMMO()) {
             eventHandler.add(new McMMOEventHandler(this));
             Bukkit.getPluginManager().registerEvents(new McMMOEventListener(eventHandler), this);
+            Bukkit.getPluginManager().registerEvents(new McMMOPartyEventListener(this), this);
+        }
+
+        if (DependencyUtils.hasMobArena()) {
+            Bukkit.getPluginManager().registerEvents(new MobArenaEventListener(this), this);
         }
     }
 }
@@ -0,0 +1,410 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.economy;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+import org.bukkit.Location;
+
+import se.crafted.chrisb.ecoCreature.commons.LoggerUtil;
+
+public final class CoinAuditLog
+{
+    public enum Format
+    {
+        CSV, JSON
+    }
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int BATCH_SIZE = 512;
+    private static final long POLL_MILLIS = 1000L;
+
+    private static CoinAuditLog instance = new CoinAuditLog();
+
+    private final AtomicLong recorded;
+    private final AtomicLong overflowed;
+    private volatile DrainThread drainThread;
+
+    public static CoinAuditLog getInstance()
+    {
+        return instance;
+    }
+
+    private CoinAuditLog()
+    {
+        recorded = new AtomicLong();
+        overflowed = new AtomicLong();
+    }
+
+    public boolean isEnabled()
+    {
+        return drainThread != null;
+    }
+
+    public long getRecordedCount()
+    {
+        return recorded.get();
+    }
+
+    public long getOverflowCount()
+    {
+        return overflowed.get();
+    }
+
+    public int getQueueDepth()
+    {
+        DrainThread current = drainThread;
+        return current != null ? current.queue.size() : 0;
+    }
+
+    public synchronized void start(File file, Format format, int capacity, long maxBytes, long rotateMillis, boolean compress)
+    {
+        stop();
+
+        drainThread = new DrainThread(file, format, capacity, maxBytes, rotateMillis, compress);
+        drainThread.start();
+    }
+
+    public synchronized void stop()
+    {
+        DrainThread current = drainThread;
+        drainThread = null;
+
+        if (current != null) {
+            current.shutdown();
+        }
+    }
+
+    public void record(String player, String reward, double amount, String world, Location location)
+    {
+        DrainThread current = drainThread;
+
+        if (current == null) {
+            return;
+        }
+
+        Record record = new Record(System.currentTimeMillis(), player, reward, amount, world, location.getBlockX(), location.getBlockY(), location.getBlockZ());
+        if (current.queue.offer(record)) {
+            recorded.incrementAndGet();
+        }
+        else {
+            overflowed.incrementAndGet();
+        }
+    }
+
+    private static final class Record
+    {
+        private final long time;
+        private final String player;
+        private final String reward;
+        private final double amount;
+        private final String world;
+        private final int x;
+        private final int y;
+        private final int z;
+
+        private Record(long time, String player, String reward, double amount, String world, int x, int y, int z)
+        {
+            this.time = time;
+            this.player = player;
+            this.reward = reward;
+            this.amount = amount;
+            this.world = world;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+    }
+
+    private static final class DrainThread extends Thread
+    {
+        private final BlockingQueue<Record> queue;
+        private final File file;
+        private final Format format;
+        private final long maxBytes;
+        private final long rotateMillis;
+        private final boolean compress;
+        private final SimpleDateFormat timestampFormat;
+        private final SimpleDateFormat rotateFormat;
+
+        private volatile boolean running;
+        private Writer out;
+        private long openedAt;
+        private long bytesWritten;
+
+        private DrainThread(File file, Format format, int capacity, long maxBytes, long rotateMillis, boolean compress)
+        {
+            super("ecoCreature-audit");
+            setDaemon(true);
+
+            queue = new ArrayBlockingQueue<Record>(Math.max(1, capacity));
+            this.file = file;
+            this.format = format;
+            this.maxBytes = maxBytes;
+            this.rotateMillis = rotateMillis;
+            this.compress = compress;
+
+            timestampFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.ENGLISH);
+            timestampFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+            rotateFormat = new SimpleDateFormat("yyyyMMdd-HHmmss", Locale.ENGLISH);
+            running = true;
+        }
+
+        private void shutdown()
+        {
+            running = false;
+            interrupt();
+
+            try {
+                join(TimeUnit.SECONDS.toMillis(5));
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void run()
+        {
+            List<Record> batch = new ArrayList<Record>(BATCH_SIZE);
+
+            try {
+                while (running || !queue.isEmpty()) {
+                    Record first = running ? poll() : queue.poll();
+
+                    if (first != null) {
+                        batch.add(first);
+                        queue.drainTo(batch, BATCH_SIZE - 1);
+                        write(batch);
+                        batch.clear();
+                    }
+
+                    if (shouldRotate()) {
+                        rotate();
+                    }
+                }
+            }
+            catch (IOException e) {
+                LoggerUtil.getInstance().warning("Coin audit log stopped: " + e.toString());
+            }
+            finally {
+                close();
+            }
+        }
+
+        private Record poll()
+        {
+            try {
+                return queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            }
+            catch (InterruptedException e) {
+                return null;
+            }
+        }
+
+        private void write(List<Record> batch) throws IOException
+        {
+            if (out == null) {
+                open();
+            }
+
+            StringBuilder lines = new StringBuilder(batch.size() * 96);
+
+            for (Record record : batch) {
+                if (format == Format.JSON) {
+                    appendJson(lines, record);
+                }
+                else {
+                    appendCsv(lines, record);
+                }
+                lines.append('\n');
+            }
+
+            out.write(lines.toString());
+            out.flush();
+            bytesWritten += lines.length();
+        }
+
+        private void appendCsv(StringBuilder line, Record record)
+        {
+            line.append(timestampFormat.format(new Date(record.time))).append(',');
+            appendCsvField(line, record.player).append(',');
+            appendCsvField(line, record.reward).append(',');
+            line.append(record.amount).append(',');
+            appendCsvField(line, record.world).append(',');
+            line.append(record.x).append(',').append(record.y).append(',').append(record.z);
+        }
+
+        private static StringBuilder appendCsvField(StringBuilder line, String value)
+        {
+            if (value == null) {
+                return line;
+            }
+
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+                return line.append(value);
+            }
+
+            return line.append('"').append(value.replace("\"", "\"\"")).append('"');
+        }
+
+        private void appendJson(StringBuilder line, Record record)
+        {
+            line.append("{\"time\":\"").append(timestampFormat.format(new Date(record.time))).append('"');
+            line.append(",\"player\":");
+            appendJsonString(line, record.player);
+            line.append(",\"reward\":");
+            appendJsonString(line, record.reward);
+            line.append(",\"amount\":").append(record.amount);
+            line.append(",\"world\":");
+            appendJsonString(line, record.world);
+            line.append(",\"x\":").append(record.x).append(",\"y\":").append(record.y).append(",\"z\":").append(record.z).append('}');
+        }
+
+        private static void appendJsonString(StringBuilder line, String value)
+        {
+            if (value == null) {
+                line.append("null");
+                return;
+            }
+
+            line.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    line.append('\\').append(c);
+                }
+                else if (c < 0x20) {
+                    line.append(String.format("\\u%04x", (int) c));
+                }
+                else {
+                    line.append(c);
+                }
+            }
+            line.append('"');
+        }
+
+        private boolean shouldRotate()
+        {
+            if (out == null) {
+                return false;
+            }
+
+            return (maxBytes > 0 && bytesWritten >= maxBytes) || (rotateMillis > 0 && bytesWritten > 0 && System.currentTimeMillis() - openedAt >= rotateMillis);
+        }
+
+        private void open() throws IOException
+        {
+            if (file.getParentFile() != null) {
+                file.getParentFile().mkdirs();
+            }
+
+            out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true), "UTF-8"), BUFFER_SIZE);
+            openedAt = System.currentTimeMillis();
+            bytesWritten = file.length();
+        }
+
+        private void close()
+        {
+            if (out != null) {
+                try {
+                    out.close();
+                }
+                catch (IOException e) {
+                    LoggerUtil.getInstance().warning("Failed to close coin audit log: " + e.toString());
+                }
+                out = null;
+            }
+        }
+
+        private void rotate() throws IOException
+        {
+            close();
+
+            String rotatedName = file.getName() + "." + rotateFormat.format(new Date());
+            File rotated = new File(file.getParentFile(), rotatedName);
+            for (int i = 1; rotated.exists() || new File(rotated.getPath() + ".gz").exists(); i++) {
+                rotated = new File(file.getParentFile(), rotatedName + "-" + i);
+            }
+
+            if (!file.renameTo(rotated)) {
+                throw new IOException("Could not rotate " + file.getName());
+            }
+
+            if (compress) {
+                compress(rotated);
+            }
+
+            open();
+        }
+
+        private static void compress(File rotated)
+        {
+            File compressed = new File(rotated.getPath() + ".gz");
+
+            try {
+                InputStream in = new FileInputStream(rotated);
+                try {
+                    OutputStream gzip = new GZIPOutputStream(new FileOutputStream(compressed));
+                    try {
+                        byte[] buffer = new byte[BUFFER_SIZE];
+                        int length;
+                        while ((length = in.read(buffer)) > 0) {
+                            gzip.write(buffer, 0, length);
+                        }
+                    }
+                    finally {
+                        gzip.close();
+                    }
+                }
+                finally {
+                    in.close();
+                }
+
+                if (!rotated.delete()) {
+                    LoggerUtil.getInstance().warning("Could not remove " + rotated.getName() + " after compressing it.");
+                }
+            }
+            catch (IOException e) {
+                LoggerUtil.getInstance().warning("Failed to compress " + rotated.getName() + ": " + e.toString());
+                compressed.delete();
+            }
+        }
+    }
+}
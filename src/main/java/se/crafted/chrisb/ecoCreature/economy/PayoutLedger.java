@@ -0,0 +1,238 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.economy;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import se.crafted.chrisb.ecoCreature.commons.AtomicDouble;
+import se.crafted.chrisb.ecoCreature.commons.DebugCategory;
+import se.crafted.chrisb.ecoCreature.commons.DependencyUtils;
+import se.crafted.chrisb.ecoCreature.commons.LoggerUtil;
+import se.crafted.chrisb.ecoCreature.metrics.Stage;
+import se.crafted.chrisb.ecoCreature.metrics.StageStats;
+
+public class PayoutLedger implements Runnable
+{
+    private final Plugin plugin;
+    private final ConcurrentMap<String, AtomicDouble> pending;
+
+    private final AtomicLong flushCount;
+    private final AtomicLong transactionCount;
+    private final AtomicLong lastFlushNanos;
+    private final AtomicLong maxFlushNanos;
+    private final AtomicLong lastFlushSize;
+
+    private volatile BukkitTask task;
+    private long intervalTicks;
+    private boolean async;
+
+    public PayoutLedger(Plugin plugin)
+    {
+        this.plugin = plugin;
+        pending = new ConcurrentHashMap<String, AtomicDouble>();
+
+        flushCount = new AtomicLong();
+        transactionCount = new AtomicLong();
+        lastFlushNanos = new AtomicLong();
+        maxFlushNanos = new AtomicLong();
+        lastFlushSize = new AtomicLong();
+    }
+
+    public synchronized void schedule(long intervalTicks, boolean async)
+    {
+        if (task != null && this.intervalTicks == intervalTicks && this.async == async) {
+            return;
+        }
+
+        cancel();
+        flush();
+        this.intervalTicks = intervalTicks;
+        this.async = async;
+
+        if (intervalTicks > 0) {
+            // NOTE: only flush off the main thread when the economy plugin is known to be thread-safe
+            task = async ? Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this, intervalTicks, intervalTicks)
+                    : Bukkit.getScheduler().runTaskTimer(plugin, this, intervalTicks, intervalTicks);
+            if (task.getTaskId() < 0) {
+                LoggerUtil.getInstance().warning("Failed to schedule PayoutLedger task.");
+                task = null;
+            }
+        }
+    }
+
+    public synchronized void shutdown()
+    {
+        cancel();
+        flush();
+    }
+
+    private void cancel()
+    {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    public boolean isBatching()
+    {
+        return task != null;
+    }
+
+    public void register(String player, double amount)
+    {
+        if (!isBatching()) {
+            apply(player, amount);
+            return;
+        }
+
+        AtomicDouble sum = pending.get(player);
+        if (sum == null) {
+            AtomicDouble newSum = new AtomicDouble();
+            sum = pending.putIfAbsent(player, newSum);
+            if (sum == null) {
+                sum = newSum;
+            }
+        }
+
+        sum.addAndGet(amount);
+    }
+
+    @Override
+    public void run()
+    {
+        flush();
+    }
+
+    public void flush()
+    {
+        long start = System.nanoTime();
+        int size = 0;
+
+        for (Map.Entry<String, AtomicDouble> entry : pending.entrySet()) {
+            if (flush(entry.getKey(), entry.getValue())) {
+                size++;
+            }
+        }
+
+        recordFlush(System.nanoTime() - start, size);
+    }
+
+    public void flush(String player)
+    {
+        AtomicDouble sum = pending.remove(player);
+
+        if (sum != null) {
+            flush(player, sum);
+        }
+    }
+
+    private boolean flush(String player, AtomicDouble sum)
+    {
+        double amount = sum.getAndSet(0.0);
+
+        if (amount != 0.0) {
+            apply(player, amount);
+            return true;
+        }
+
+        return false;
+    }
+
+    private void apply(String player, double amount)
+    {
+        if (!DependencyUtils.hasEconomy()) {
+            return;
+        }
+
+        long start = StageStats.getInstance().start();
+
+        if (amount > 0.0) {
+            DependencyUtils.getEconomy().depositPlayer(player, amount);
+        }
+        else if (amount < 0.0) {
+            DependencyUtils.getEconomy().withdrawPlayer(player, Math.abs(amount));
+        }
+
+        StageStats.getInstance().stop(Stage.ECONOMY, start);
+        transactionCount.incrementAndGet();
+    }
+
+    private void recordFlush(long nanos, int size)
+    {
+        flushCount.incrementAndGet();
+        lastFlushNanos.set(nanos);
+        lastFlushSize.set(size);
+
+        long max = maxFlushNanos.get();
+        while (nanos > max && !maxFlushNanos.compareAndSet(max, nanos)) {
+            max = maxFlushNanos.get();
+        }
+
+        if (size > 0) {
+            LoggerUtil.getInstance().debug(DebugCategory.ECONOMY, "Flushed %d payouts in %d us", size, nanos / 1000L);
+        }
+    }
+
+    public int getQueueDepth()
+    {
+        int depth = 0;
+
+        for (AtomicDouble sum : pending.values()) {
+            if (sum.get() != 0.0) {
+                depth++;
+            }
+        }
+
+        return depth;
+    }
+
+    public long getFlushCount()
+    {
+        return flushCount.get();
+    }
+
+    public long getTransactionCount()
+    {
+        return transactionCount.get();
+    }
+
+    public long getLastFlushNanos()
+    {
+        return lastFlushNanos.get();
+    }
+
+    public long getMaxFlushNanos()
+    {
+        return maxFlushNanos.get();
+    }
+
+    public long getLastFlushSize()
+    {
+        return lastFlushSize.get();
+    }
+}
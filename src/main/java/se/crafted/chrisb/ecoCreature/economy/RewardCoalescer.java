@@ -0,0 +1,169 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.economy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import se.crafted.chrisb.ecoCreature.commons.DebugCategory;
+import se.crafted.chrisb.ecoCreature.commons.DependencyUtils;
+import se.crafted.chrisb.ecoCreature.commons.LoggerUtil;
+import se.crafted.chrisb.ecoCreature.messages.Message;
+import se.crafted.chrisb.ecoCreature.messages.MessageHandler;
+import se.crafted.chrisb.ecoCreature.messages.MessageToken;
+
+/**
+ * Sums the coin rewards a player gets within a window of ticks into one
+ * payout and one message. Only used from the main thread.
+ */
+public class RewardCoalescer
+{
+    private final Plugin plugin;
+    private final PayoutLedger ledger;
+    private final Map<String, Window> windows;
+
+    private final AtomicLong foldedCount;
+    private final AtomicLong windowCount;
+
+    public RewardCoalescer(Plugin plugin, PayoutLedger ledger)
+    {
+        this.plugin = plugin;
+        this.ledger = ledger;
+        windows = new HashMap<String, Window>();
+
+        foldedCount = new AtomicLong();
+        windowCount = new AtomicLong();
+    }
+
+    public void add(Player player, double amount, Message message, Map<MessageToken, String> parameters, Message rewardSummary, Message penaltySummary, long ticks)
+    {
+        Window window = windows.get(player.getName());
+
+        if (window == null) {
+            window = new Window(player, message, new HashMap<MessageToken, String>(parameters), rewardSummary, penaltySummary);
+            window.task = Bukkit.getScheduler().runTaskLater(plugin, window, Math.max(1L, ticks));
+            windows.put(player.getName(), window);
+            windowCount.incrementAndGet();
+        }
+        else {
+            foldedCount.incrementAndGet();
+        }
+
+        window.amount += amount;
+        window.count++;
+    }
+
+    public void flush(String player)
+    {
+        Window window = windows.remove(player);
+
+        if (window != null) {
+            window.cancel();
+            window.close();
+        }
+    }
+
+    public void flush()
+    {
+        List<Window> open = new ArrayList<Window>(windows.values());
+        windows.clear();
+
+        for (Window window : open) {
+            window.cancel();
+            window.close();
+        }
+    }
+
+    public int getOpenWindows()
+    {
+        return windows.size();
+    }
+
+    public long getFoldedCount()
+    {
+        return foldedCount.get();
+    }
+
+    public long getWindowCount()
+    {
+        return windowCount.get();
+    }
+
+    private final class Window implements Runnable
+    {
+        private final Player player;
+        private final Message message;
+        private final Map<MessageToken, String> parameters;
+        private final Message rewardSummary;
+        private final Message penaltySummary;
+
+        private BukkitTask task;
+        private double amount;
+        private int count;
+
+        private Window(Player player, Message message, Map<MessageToken, String> parameters, Message rewardSummary, Message penaltySummary)
+        {
+            this.player = player;
+            this.message = message;
+            this.parameters = parameters;
+            this.rewardSummary = rewardSummary;
+            this.penaltySummary = penaltySummary;
+        }
+
+        @Override
+        public void run()
+        {
+            if (windows.get(player.getName()) == this) {
+                windows.remove(player.getName());
+                close();
+            }
+        }
+
+        private void cancel()
+        {
+            if (task != null) {
+                task.cancel();
+            }
+        }
+
+        private void close()
+        {
+            ledger.register(player.getName(), amount);
+
+            Message summary = message;
+            if (count > 1) {
+                summary = amount < 0.0 ? penaltySummary : rewardSummary;
+                parameters.put(MessageToken.AMOUNT, DependencyUtils.getEconomy().format(Math.abs(amount)));
+                parameters.put(MessageToken.COUNT, String.valueOf(count));
+                LoggerUtil.getInstance().debug(DebugCategory.ECONOMY, "Coalesced %d rewards for %s", count, player.getName());
+            }
+
+            new MessageHandler(summary, parameters).send(player);
+        }
+    }
+}
@@ -19,7 +19,6 @@
  */
 package se.crafted.chrisb.ecoCreature.events;
 
-import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.Cancellable;
 import org.bukkit.event.Event;
@@ -31,17 +30,12 @@ public class RewardEvent extends Event implements Cancellable
 {
     private static final HandlerList handlers = new HandlerList();
 
-    private String player;
+    private Player player;
     private Reward reward;
 
     private boolean isCancelled;
 
     public RewardEvent(Player player, Reward reward)
-    {
-        this(player.getName(), reward);
-    }
-
-    public RewardEvent(String player, Reward reward)
     {
         this.player = player;
         this.reward = reward;
@@ -49,10 +43,10 @@ public class RewardEvent extends Event implements Cancellable
 
     public Player getPlayer()
     {
-        return Bukkit.getPlayer(player);
+        return player;
     }
 
-    public void setPlayer(String player)
+    public void setPlayer(Player player)
     {
         this.player = player;
     }
@@ -25,6 +25,7 @@ import java.util.Set;
 
 import org.bukkit.Material;
 import org.bukkit.World;
+import org.bukkit.entity.Player;
 import org.bukkit.event.Event;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.SkullMeta;
@@ -35,6 +36,7 @@ import se.crafted.chrisb.ecoCreature.events.EntityKilledEvent;
 import se.crafted.chrisb.ecoCreature.events.PlayerKilledEvent;
 import se.crafted.chrisb.ecoCreature.events.RewardEvent;
 import se.crafted.chrisb.ecoCreature.rewards.Reward;
+import se.crafted.chrisb.ecoCreature.settings.SpawnerMobTracking;
 import se.crafted.chrisb.ecoCreature.settings.WorldSettings;
 
 public abstract class AbstractEventHandler implements RewardEventCreator
@@ -47,7 +49,7 @@ public abstract class AbstractEventHandler implements RewardEventCreator
     }
 
     @Override
-    public abstract boolean canCreateRewardEvents(Event event);
+    public abstract Class<? extends Event> getEventType();
 
     @Override
     public abstract Set<RewardEvent> createRewardEvents(Event event);
@@ -63,11 +65,23 @@ public abstract class AbstractEventHandler implements RewardEventCreator
         return plugin.getPluginConfig();
     }
 
+    protected SpawnerMobTracking getSpawnerMobTracking()
+    {
+        return plugin.getSpawnerMobRegistry();
+    }
+
     protected WorldSettings getWorldSettings(World world)
     {
         return getPluginConfig().getWorldSettings(world);
     }
 
+    protected void flushPayouts(Player player)
+    {
+        plugin.getRewardQueue().drain(player.getName());
+        plugin.getRewardCoalescer().flush(player.getName());
+        plugin.getPayoutLedger().flush(player.getName());
+    }
+
     protected static void addPlayerSkullToEvent(Reward reward, Event event)
     {
         if (event instanceof PlayerKilledEvent) {
@@ -20,7 +20,6 @@
 package se.crafted.chrisb.ecoCreature.events.handlers;
 
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Set;
 
 import org.bukkit.entity.Player;
@@ -42,22 +41,15 @@ public class BlockEventHandler extends AbstractEventHandler
     }
 
     @Override
-    public boolean canCreateRewardEvents(Event event)
+    public Class<? extends Event> getEventType()
     {
-        return event instanceof BlockBreakEvent;
+        return BlockBreakEvent.class;
     }
 
     @Override
     public Set<RewardEvent> createRewardEvents(Event event)
     {
-        Set<RewardEvent> events = Collections.emptySet();
-
-        if (event instanceof BlockBreakEvent) {
-            events = new HashSet<RewardEvent>();
-            events.addAll(createRewardEvents((BlockBreakEvent) event));
-        }
-
-        return events;
+        return createRewardEvents((BlockBreakEvent) event);
     }
 
     private Set<RewardEvent> createRewardEvents(BlockBreakEvent event)
@@ -67,14 +59,14 @@ public class BlockEventHandler extends AbstractEventHandler
         Player player = event.getPlayer();
         WorldSettings settings = getSettings(player.getWorld());
 
-        if (settings.hasReward(event)) {
-            Reward reward = settings.createReward(event);
+        Reward reward = settings.resolveReward(event);
+
+        if (reward != null) {
             reward.setGain(settings.getGainMultiplier(player));
             reward.addParameter(MessageToken.ITEM, EntityUtils.getItemNameInHand(player))
                 .addParameter(MessageToken.CREATURE, reward.getName());
 
-            events = new HashSet<RewardEvent>();
-            events.add(new RewardEvent(player, reward));
+            events = Collections.singleton(new RewardEvent(player, reward));
         }
 
         return events;
@@ -20,7 +20,6 @@
 package se.crafted.chrisb.ecoCreature.events.handlers;
 
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Set;
 
 import org.bukkit.entity.Player;
@@ -40,22 +39,15 @@ public class DeathStreakEventHandler extends AbstractEventHandler
     }
 
     @Override
-    public boolean canCreateRewardEvents(Event event)
+    public Class<? extends Event> getEventType()
     {
-        return event instanceof DeathStreakEvent;
+        return DeathStreakEvent.class;
     }
 
     @Override
     public Set<RewardEvent> createRewardEvents(Event event)
     {
-        Set<RewardEvent> events = Collections.emptySet();
-
-        if (event instanceof DeathStreakEvent) {
-            events = new HashSet<RewardEvent>();
-            events.addAll(createRewardEvents((DeathStreakEvent) event));
-        }
-
-        return events;
+        return createRewardEvents((DeathStreakEvent) event);
     }
 
     private Set<RewardEvent> createRewardEvents(DeathStreakEvent event)
@@ -66,12 +58,12 @@ public class DeathStreakEventHandler extends AbstractEventHandler
         int deaths = event.getDeaths();
         WorldSettings settings = getSettings(player.getWorld());
 
-        if (settings.hasReward(event)) {
-            Reward reward = settings.createReward(event);
+        Reward reward = settings.resolveReward(event);
+
+        if (reward != null) {
             reward.setGain(deaths);
 
-            events = new HashSet<RewardEvent>();
-            events.add(new RewardEvent(player, reward));
+            events = Collections.singleton(new RewardEvent(player, reward));
         }
 
         return events;
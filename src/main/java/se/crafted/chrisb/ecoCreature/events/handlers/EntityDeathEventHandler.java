@@ -20,7 +20,6 @@
 package se.crafted.chrisb.ecoCreature.events.handlers;
 
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Set;
 
 import org.bukkit.entity.EntityType;
@@ -42,22 +41,15 @@ public class EntityDeathEventHandler extends AbstractEventHandler
     }
 
     @Override
-    public boolean canCreateRewardEvents(Event event)
+    public Class<? extends Event> getEventType()
     {
-        return event instanceof EntityKilledEvent;
+        return EntityKilledEvent.class;
     }
 
     @Override
     public Set<RewardEvent> createRewardEvents(Event event)
     {
-        Set<RewardEvent> events = Collections.emptySet();
-
-        if (event instanceof EntityKilledEvent) {
-            events = new HashSet<RewardEvent>();
-            events.addAll(createRewardEvents((EntityKilledEvent) event));
-        }
-
-        return events;
+        return createRewardEvents((EntityKilledEvent) event);
     }
 
     private Set<RewardEvent> createRewardEvents(EntityKilledEvent event)
@@ -66,10 +58,11 @@ public class EntityDeathEventHandler extends AbstractEventHandler
 
         Player killer = event.getKiller();
         WorldSettings settings = getSettings(killer.getWorld());
-        event.setSpawnerMobTracking(settings);
+        event.setSpawnerMobTracking(getSpawnerMobTracking());
+
+        Reward reward = settings.resolveReward(event);
 
-        if (settings.hasReward(event)) {
-            Reward reward = settings.createReward(event);
+        if (reward != null) {
             reward.setGain(settings.getGainMultiplier(killer));
             reward.setParty(settings.getPartyMembers(killer));
             reward.addParameter(MessageToken.CREATURE, reward.getName())
@@ -86,8 +79,7 @@ public class EntityDeathEventHandler extends AbstractEventHandler
             addPlayerSkullToEvent(reward, event);
             addBooksToEvent(reward, event);
 
-            events = new HashSet<RewardEvent>();
-            events.add(new RewardEvent(killer, reward));
+            events = Collections.singleton(new RewardEvent(killer, reward));
         }
 
         return events;
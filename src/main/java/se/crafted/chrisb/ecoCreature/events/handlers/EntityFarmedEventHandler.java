@@ -25,6 +25,7 @@ import java.util.Set;
 import org.bukkit.event.Event;
 
 import se.crafted.chrisb.ecoCreature.ecoCreature;
+import se.crafted.chrisb.ecoCreature.commons.DebugCategory;
 import se.crafted.chrisb.ecoCreature.commons.LoggerUtil;
 import se.crafted.chrisb.ecoCreature.events.EntityFarmedEvent;
 import se.crafted.chrisb.ecoCreature.events.RewardEvent;
@@ -38,18 +39,15 @@ public class EntityFarmedEventHandler extends AbstractEventHandler
     }
 
     @Override
-    public boolean canCreateRewardEvents(Event event)
+    public Class<? extends Event> getEventType()
     {
-        return event instanceof EntityFarmedEvent;
+        return EntityFarmedEvent.class;
     }
 
     @Override
     public Set<RewardEvent> createRewardEvents(Event event)
     {
-        if (event instanceof EntityFarmedEvent) {
-            handleNoFarm((EntityFarmedEvent) event);
-        }
-
+        handleNoFarm((EntityFarmedEvent) event);
         return Collections.emptySet();
     }
 
@@ -58,12 +56,12 @@ public class EntityFarmedEventHandler extends AbstractEventHandler
         WorldSettings settings = getSettings(event.getEntity().getWorld());
 
         if (settings.isNoFarm() && event.isFarmed()) {
-            LoggerUtil.getInstance().debug("Mob farming detected");
+            LoggerUtil.getInstance().debug(DebugCategory.RULES, "Mob farming detected");
             deleteDrops(event);
         }
 
         if (settings.isNoFarmFire() && event.isFireFarmed()) {
-            LoggerUtil.getInstance().debug("Mob farming by fire detected");
+            LoggerUtil.getInstance().debug(DebugCategory.RULES, "Mob farming by fire detected");
             deleteDrops(event);
         }
     }
@@ -20,7 +20,6 @@
 package se.crafted.chrisb.ecoCreature.events.handlers;
 
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Set;
 
 import org.bukkit.entity.Player;
@@ -41,22 +40,15 @@ public class HeroesEventHandler extends AbstractEventHandler
     }
 
     @Override
-    public boolean canCreateRewardEvents(Event event)
+    public Class<? extends Event> getEventType()
     {
-        return event instanceof HeroChangeLevelEvent;
+        return HeroChangeLevelEvent.class;
     }
 
     @Override
     public Set<RewardEvent> createRewardEvents(Event event)
     {
-        Set<RewardEvent> events = Collections.emptySet();
-
-        if (event instanceof HeroChangeLevelEvent) {
-            events = new HashSet<RewardEvent>();
-            events.addAll(createRewardEvents((HeroChangeLevelEvent) event));
-        }
-
-        return events;
+        return createRewardEvents((HeroChangeLevelEvent) event);
     }
 
     private Set<RewardEvent> createRewardEvents(HeroChangeLevelEvent event)
@@ -66,11 +58,11 @@ public class HeroesEventHandler extends AbstractEventHandler
         Player player = event.getHero().getPlayer();
         WorldSettings settings = getSettings(player.getWorld());
 
-        if (settings.hasReward(event)) {
-            Reward reward = settings.createReward(event);
+        Reward reward = settings.resolveReward(event);
+
+        if (reward != null) {
 
-            events = new HashSet<RewardEvent>();
-            events.add(new RewardEvent(player, reward));
+            events = Collections.singleton(new RewardEvent(player, reward));
         }
 
         return events;
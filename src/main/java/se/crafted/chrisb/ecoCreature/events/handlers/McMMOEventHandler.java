@@ -20,7 +20,6 @@
 package se.crafted.chrisb.ecoCreature.events.handlers;
 
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Set;
 
 import org.bukkit.entity.Player;
@@ -41,22 +40,15 @@ public class McMMOEventHandler extends AbstractEventHandler
     }
 
     @Override
-    public boolean canCreateRewardEvents(Event event)
+    public Class<? extends Event> getEventType()
     {
-        return event instanceof McMMOPlayerLevelUpEvent;
+        return McMMOPlayerLevelUpEvent.class;
     }
 
     @Override
     public Set<RewardEvent> createRewardEvents(Event event)
     {
-        Set<RewardEvent> events = Collections.emptySet();
-
-        if (event instanceof McMMOPlayerLevelUpEvent) {
-            events = new HashSet<RewardEvent>();
-            events.addAll(createRewardEvents((McMMOPlayerLevelUpEvent) event));
-        }
-
-        return events;
+        return createRewardEvents((McMMOPlayerLevelUpEvent) event);
     }
 
     private Set<RewardEvent> createRewardEvents(McMMOPlayerLevelUpEvent event)
@@ -66,11 +58,11 @@ public class McMMOEventHandler extends AbstractEventHandler
         Player player = event.getPlayer();
         WorldSettings settings = getSettings(player.getWorld());
 
-        if (settings.hasReward(event)) {
-            Reward reward = settings.createReward(event);
+        Reward reward = settings.resolveReward(event);
+
+        if (reward != null) {
 
-            events = new HashSet<RewardEvent>();
-            events.add(new RewardEvent(player, reward));
+            events = Collections.singleton(new RewardEvent(player, reward));
         }
 
         return events;
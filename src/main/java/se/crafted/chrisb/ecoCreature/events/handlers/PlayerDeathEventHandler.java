@@ -20,7 +20,6 @@
 package se.crafted.chrisb.ecoCreature.events.handlers;
 
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Set;
 
 import org.bukkit.entity.Player;
@@ -40,22 +39,15 @@ public class PlayerDeathEventHandler extends AbstractEventHandler
     }
 
     @Override
-    public boolean canCreateRewardEvents(Event event)
+    public Class<? extends Event> getEventType()
     {
-        return event instanceof PlayerDeathEvent;
+        return PlayerDeathEvent.class;
     }
 
     @Override
     public Set<RewardEvent> createRewardEvents(Event event)
     {
-        Set<RewardEvent> events = Collections.emptySet();
-
-        if (event instanceof PlayerDeathEvent) {
-            events = new HashSet<RewardEvent>();
-            events.addAll(createRewardEvents((PlayerDeathEvent) event));
-        }
-
-        return events;
+        return createRewardEvents((PlayerDeathEvent) event);
     }
 
     private Set<RewardEvent> createRewardEvents(PlayerDeathEvent event)
@@ -65,11 +57,13 @@ public class PlayerDeathEventHandler extends AbstractEventHandler
         Player player = event.getEntity();
         WorldSettings settings = getSettings(player.getWorld());
 
-        if (settings.hasReward(event)) {
-            Reward reward = settings.createReward(event);
+        // NOTE: percentage penalties read the balance, so pay out what is still pending first
+        flushPayouts(player);
+        Reward reward = settings.resolveReward(event);
+
+        if (reward != null) {
 
-            events = new HashSet<RewardEvent>();
-            events.add(new RewardEvent(player, reward));
+            events = Collections.singleton(new RewardEvent(player, reward));
         }
 
         return events;
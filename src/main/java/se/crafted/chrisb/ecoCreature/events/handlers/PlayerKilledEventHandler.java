@@ -43,22 +43,15 @@ public class PlayerKilledEventHandler extends AbstractEventHandler
     }
 
     @Override
-    public boolean canCreateRewardEvents(Event event)
+    public Class<? extends Event> getEventType()
     {
-        return event instanceof PlayerKilledEvent;
+        return PlayerKilledEvent.class;
     }
 
     @Override
     public Set<RewardEvent> createRewardEvents(Event event)
     {
-        Set<RewardEvent> events = Collections.emptySet();
-
-        if (event instanceof PlayerKilledEvent) {
-            events = new HashSet<RewardEvent>();
-            events.addAll(createRewardEvents((PlayerKilledEvent) event));
-        }
-
-        return events;
+        return createRewardEvents((PlayerKilledEvent) event);
     }
 
     private Set<RewardEvent> createRewardEvents(PlayerKilledEvent event)
@@ -69,16 +62,21 @@ public class PlayerKilledEventHandler extends AbstractEventHandler
         Player victim = event.getVictim();
         WorldSettings settings = getSettings(killer.getWorld());
 
-        if (settings.hasReward(event)) {
-            Reward killerReward = createWinnerReward(event);
+        // NOTE: percentage rewards read the victim's balance, so pay out what is still pending first
+        flushPayouts(victim);
+        Reward killerReward = settings.resolveReward(event);
+
+        if (killerReward != null) {
+            prepareWinnerReward(killerReward, event);
 
             events = new HashSet<RewardEvent>();
             events.add(new RewardEvent(killer, killerReward));
 
             PlayerDeathEvent deathEvent = new PlayerDeathEvent(event.getEntity(), event.getDrops(), event.getDroppedExp(), event.getNewExp(),
                     event.getNewTotalExp(), event.getNewLevel(), event.getDeathMessage());
-            if (settings.hasReward(deathEvent)) {
-                Reward penalty = settings.createReward(deathEvent);
+            Reward penalty = settings.resolveReward(deathEvent);
+
+            if (penalty != null) {
                 penalty.setCoin(killerReward.getCoin());
                 penalty.setGain(-killerReward.getGain());
 
@@ -89,10 +87,8 @@ public class PlayerKilledEventHandler extends AbstractEventHandler
         return events;
     }
 
-    private Reward createWinnerReward(PlayerKilledEvent event)
+    private static void prepareWinnerReward(Reward reward, PlayerKilledEvent event)
     {
-        WorldSettings settings = getSettings(event.getEntity().getWorld());
-        Reward reward = settings.createReward(event);
         reward.addParameter(MessageToken.CREATURE, event.getVictim().getName());
 
         /*if ((settings.isOverrideDrops() && reward.hasDrops()) || (settings.isClearOnNoDrops() && !reward.hasDrops())) {
@@ -105,7 +101,5 @@ public class PlayerKilledEventHandler extends AbstractEventHandler
 
         addPlayerSkullToEvent(reward, event);
         addBooksToEvent(reward, event);
-
-        return reward;
     }
 }
@@ -19,10 +19,9 @@
  */
 package se.crafted.chrisb.ecoCreature.events.handlers;
 
-import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 
 import org.bukkit.event.Event;
@@ -31,32 +30,54 @@ import se.crafted.chrisb.ecoCreature.events.RewardEvent;
 
 public class PluginEventHandler
 {
-    private List<RewardEventCreator> handlers;
+    private static final RewardEventCreator[] NO_HANDLERS = new RewardEventCreator[0];
+
+    private final Map<Class<?>, RewardEventCreator[]> handlerMap;
 
     public PluginEventHandler()
     {
-        handlers = new ArrayList<RewardEventCreator>();
+        handlerMap = new HashMap<Class<?>, RewardEventCreator[]>();
     }
 
     public void add(RewardEventCreator handler)
     {
-        handlers.add(handler);
+        RewardEventCreator[] current = handlerMap.get(handler.getEventType());
+        if (current == null) {
+            current = NO_HANDLERS;
+        }
+
+        RewardEventCreator[] handlers = new RewardEventCreator[current.length + 1];
+        System.arraycopy(current, 0, handlers, 0, current.length);
+        handlers[current.length] = handler;
+        handlerMap.put(handler.getEventType(), handlers);
     }
 
     public Set<RewardEvent> createRewardEvents(Event event)
     {
-        Set<RewardEvent> events = Collections.emptySet();
-
-        for (RewardEventCreator handler : handlers) {
-            if (handler.canCreateRewardEvents(event)) {
-                events = new HashSet<RewardEvent>();
-                events.addAll(handler.createRewardEvents(event));
-                if (!events.isEmpty()) {
-                    break;
-                }
+        RewardEventCreator[] handlers = getHandlers(event.getClass());
+
+        for (int i = 0; i < handlers.length; i++) {
+            Set<RewardEvent> events = handlers[i].createRewardEvents(event);
+            if (!events.isEmpty()) {
+                return events;
+            }
+        }
+
+        return Collections.emptySet();
+    }
+
+    private RewardEventCreator[] getHandlers(Class<?> eventType)
+    {
+        Class<?> type = eventType;
+
+        while (type != null && Event.class.isAssignableFrom(type)) {
+            RewardEventCreator[] handlers = handlerMap.get(type);
+            if (handlers != null) {
+                return handlers;
             }
+            type = type.getSuperclass();
         }
 
-        return events;
+        return NO_HANDLERS;
     }
 }
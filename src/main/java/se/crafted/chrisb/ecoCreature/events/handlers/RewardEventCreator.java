@@ -29,7 +29,7 @@ import se.crafted.chrisb.ecoCreature.settings.WorldSettings;
 
 public interface RewardEventCreator
 {
-    boolean canCreateRewardEvents(Event event);
+    Class<? extends Event> getEventType();
 
     Set<RewardEvent> createRewardEvents(Event event);
 
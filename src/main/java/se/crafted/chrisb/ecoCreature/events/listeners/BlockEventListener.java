@@ -27,6 +27,7 @@ import org.bukkit.event.block.BlockBreakEvent;
 
 import se.crafted.chrisb.ecoCreature.events.RewardEvent;
 import se.crafted.chrisb.ecoCreature.events.handlers.PluginEventHandler;
+import se.crafted.chrisb.ecoCreature.metrics.StageStats;
 
 public class BlockEventListener implements Listener
 {
@@ -44,8 +45,12 @@ public class BlockEventListener implements Listener
             return;
         }
 
+        long start = StageStats.getInstance().enter(event.getBlock().getWorld().getName());
+
         for (RewardEvent rewardEvent : handler.createRewardEvents(event)) {
             Bukkit.getPluginManager().callEvent(rewardEvent);
         }
+
+        StageStats.getInstance().exit(start);
     }
 }
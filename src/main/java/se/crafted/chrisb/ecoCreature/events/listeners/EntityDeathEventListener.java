@@ -34,6 +34,7 @@ import se.crafted.chrisb.ecoCreature.events.EntityFarmedEvent;
 import se.crafted.chrisb.ecoCreature.events.EntityKilledEvent;
 import se.crafted.chrisb.ecoCreature.events.RewardEvent;
 import se.crafted.chrisb.ecoCreature.events.handlers.PluginEventHandler;
+import se.crafted.chrisb.ecoCreature.metrics.StageStats;
 
 public class EntityDeathEventListener implements Listener
 {
@@ -51,6 +52,7 @@ public class EntityDeathEventListener implements Listener
             return;
         }
 
+        long start = StageStats.getInstance().enter(event.getEntity().getWorld().getName());
         Set<RewardEvent> events = Collections.emptySet();
 
         if (EventUtils.isEntityKilledEvent(event)) {
@@ -63,5 +65,7 @@ public class EntityDeathEventListener implements Listener
         for (RewardEvent rewardEvent : events) {
             Bukkit.getPluginManager().callEvent(rewardEvent);
         }
+
+        StageStats.getInstance().exit(start);
     }
 }
@@ -0,0 +1,51 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.events.listeners;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+
+import com.herocraftonline.heroes.api.events.HeroJoinPartyEvent;
+import com.herocraftonline.heroes.api.events.HeroLeavePartyEvent;
+
+import se.crafted.chrisb.ecoCreature.ecoCreature;
+
+public class HeroesPartyEventListener implements Listener
+{
+    private final ecoCreature plugin;
+
+    public HeroesPartyEventListener(ecoCreature plugin)
+    {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onHeroJoinParty(HeroJoinPartyEvent event)
+    {
+        plugin.getPluginConfig().invalidateParties();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onHeroLeaveParty(HeroLeavePartyEvent event)
+    {
+        plugin.getPluginConfig().invalidateParties();
+    }
+}
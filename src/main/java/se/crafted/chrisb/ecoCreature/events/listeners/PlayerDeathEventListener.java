@@ -32,6 +32,7 @@ import se.crafted.chrisb.ecoCreature.commons.EventUtils;
 import se.crafted.chrisb.ecoCreature.events.PlayerKilledEvent;
 import se.crafted.chrisb.ecoCreature.events.RewardEvent;
 import se.crafted.chrisb.ecoCreature.events.handlers.PluginEventHandler;
+import se.crafted.chrisb.ecoCreature.metrics.StageStats;
 
 public class PlayerDeathEventListener implements Listener
 {
@@ -45,6 +46,7 @@ public class PlayerDeathEventListener implements Listener
     @EventHandler(priority = EventPriority.NORMAL)
     public void onEntityDeath(PlayerDeathEvent event)
     {
+        long start = StageStats.getInstance().enter(event.getEntity().getWorld().getName());
         Set<RewardEvent> events = Collections.emptySet();
 
         if (EventUtils.isPVPDeath(event)) {
@@ -57,5 +59,7 @@ public class PlayerDeathEventListener implements Listener
         for (RewardEvent rewardEvent : events) {
             Bukkit.getPluginManager().callEvent(rewardEvent);
         }
+
+        StageStats.getInstance().exit(start);
     }
 }
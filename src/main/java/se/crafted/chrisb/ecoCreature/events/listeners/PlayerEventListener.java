@@ -0,0 +1,60 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.events.listeners;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import se.crafted.chrisb.ecoCreature.ecoCreature;
+import se.crafted.chrisb.ecoCreature.commons.DependencyUtils;
+
+public class PlayerEventListener implements Listener
+{
+    private final ecoCreature plugin;
+
+    public PlayerEventListener(ecoCreature plugin)
+    {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event)
+    {
+        plugin.getRewardQueue().drain(event.getPlayer().getName());
+        plugin.getRewardCoalescer().flush(event.getPlayer().getName());
+        plugin.getPayoutLedger().flush(event.getPlayer().getName());
+        DependencyUtils.getPermissionCache().invalidate(event.getPlayer().getName());
+        plugin.getPluginConfig().invalidatePlayer(event.getPlayer().getName());
+        plugin.getPluginConfig().invalidateParties();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerChangedWorld(PlayerChangedWorldEvent event)
+    {
+        plugin.getRewardQueue().drain(event.getPlayer().getName());
+        plugin.getRewardCoalescer().flush(event.getPlayer().getName());
+        plugin.getPayoutLedger().flush(event.getPlayer().getName());
+        DependencyUtils.getPermissionCache().invalidate(event.getPlayer().getName());
+        plugin.getPluginConfig().invalidatePlayer(event.getPlayer().getName());
+    }
+}
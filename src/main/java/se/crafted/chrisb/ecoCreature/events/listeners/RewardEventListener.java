@@ -20,10 +20,11 @@
 package se.crafted.chrisb.ecoCreature.events.listeners;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
-import org.bukkit.entity.Entity;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.ExperienceOrb;
 import org.bukkit.entity.Player;
@@ -32,19 +33,28 @@ import org.bukkit.event.Listener;
 import org.bukkit.inventory.ItemStack;
 
 import se.crafted.chrisb.ecoCreature.ecoCreature;
+import se.crafted.chrisb.ecoCreature.commons.DebugCategory;
 import se.crafted.chrisb.ecoCreature.commons.DependencyUtils;
 import se.crafted.chrisb.ecoCreature.commons.LoggerUtil;
+import se.crafted.chrisb.ecoCreature.commons.TickBudgetQueue;
+import se.crafted.chrisb.ecoCreature.economy.CoinAuditLog;
 import se.crafted.chrisb.ecoCreature.events.RewardEvent;
 import se.crafted.chrisb.ecoCreature.messages.DefaultMessage;
 import se.crafted.chrisb.ecoCreature.messages.Message;
 import se.crafted.chrisb.ecoCreature.messages.MessageHandler;
 import se.crafted.chrisb.ecoCreature.messages.MessageToken;
 import se.crafted.chrisb.ecoCreature.rewards.Reward;
+import se.crafted.chrisb.ecoCreature.settings.WorldSettings;
 
 public class RewardEventListener implements Listener
 {
     private static final String PARTY_REWARD_MESSAGE = "&7Party awarded &6<amt>&7.";
     private static final String PARTY_PENALTY_MESSAGE = "&Party penalized &6<amt>&7.";
+    private static final Message PARTY_REWARD = new DefaultMessage(PARTY_REWARD_MESSAGE);
+    private static final Message PARTY_PENALTY = new DefaultMessage(PARTY_PENALTY_MESSAGE);
+    private static final Message PARTY_NONE = new DefaultMessage();
+    // NOTE: the same orb sizes vanilla uses to split experience drops
+    private static final int[] ORB_SIZES = { 2477, 1237, 617, 307, 149, 73, 37, 17, 7, 3, 1 };
 
     private ecoCreature plugin;
 
@@ -57,70 +67,104 @@ public class RewardEventListener implements Listener
     public void onRewardEvent(RewardEvent event)
     {
         if (!event.isCancelled()) {
-            Reward reward = event.getReward();
-            Player player = event.getPlayer();
+            final Reward reward = event.getReward();
+            final Player player = event.getPlayer();
 
-            if (player != null) { // TODO: fix this upstream for citizens2
-                dropCoin(player.getName(), reward);
-                dropItems(reward);
-                dropEntities(reward);
+            // TODO: fix this upstream for citizens2, NPC killers are filtered here as they are never online
+            if (player != null && player.isOnline()) {
+                // NOTE: resolve settings now so a reload before the queue drains does not change this reward
+                final WorldSettings settings = plugin.getPluginConfig().getWorldSettings(reward.getWorld());
+                TickBudgetQueue queue = plugin.getRewardQueue();
 
-                plugin.getMetrics().addCount(reward.getName());
-                LoggerUtil.getInstance().debug("Added metrics count for " + reward.getName());
+                if (queue.isEnabled()) {
+                    queue.submit(player.getName(), new Runnable() {
+
+                        @Override
+                        public void run()
+                        {
+                            applyReward(player, reward, settings);
+                        }
+                    });
+                }
+                else {
+                    applyReward(player, reward, settings);
+                }
             }
         }
     }
 
-    private void dropCoin(String player, Reward reward)
+    private void applyReward(Player player, Reward reward, WorldSettings settings)
+    {
+        double coin = dropCoin(player, reward, settings);
+        int items = dropItems(reward);
+        int entities = dropEntities(reward);
+
+        plugin.getMetrics().addReward(reward.getWorldName(), reward.getName(), coin, items, entities);
+        LoggerUtil.getInstance().debug(DebugCategory.GENERAL, "Added metrics count for %s", reward.getName());
+    }
+
+    private double dropCoin(Player player, Reward reward, WorldSettings settings)
     {
         if (!DependencyUtils.hasEconomy()) {
-            return;
+            return 0.0;
         }
 
         double amount = calculateAmount(reward);
+        double paid = 0.0;
+        boolean audited = MessageHandler.isCoinLoggingEnabled(reward.getMessage()) && CoinAuditLog.getInstance().isEnabled();
 
         if (Math.abs(amount) > 0.0) {
+            for (Player member : createParty(player, reward)) {
+                paid += amount;
 
-            for (String member : createParty(player, reward)) {
-                registerAmount(member, amount);
+                if (audited) {
+                    CoinAuditLog.getInstance().record(member.getName(), reward.getName(), amount, reward.getWorldName(), reward.getLocation());
+                }
 
                 Message message = member.equals(player) ? reward.getMessage() : getPartyMessage(amount);
-                reward.addParameter(MessageToken.PLAYER, member).addParameter(MessageToken.AMOUNT, DependencyUtils.getEconomy().format(Math.abs(amount)));
+                reward.addParameter(MessageToken.PLAYER, member.getName()).addParameter(MessageToken.AMOUNT, DependencyUtils.getEconomy().format(Math.abs(amount)));
 
-                MessageHandler handler = new MessageHandler(message, reward.getParameters());
-                handler.send(member);
+                if (settings.getCoalesceTicks() > 0) {
+                    plugin.getRewardCoalescer().add(member, amount, message, reward.getParameters(), settings.getCoalescedRewardMessage(),
+                            settings.getCoalescedPenaltyMessage(), settings.getCoalesceTicks());
+                }
+                else {
+                    registerAmount(member.getName(), amount);
+                    MessageHandler handler = new MessageHandler(message, reward.getParameters());
+                    handler.send(member);
+                }
             }
         }
+
+        return paid;
     }
 
-    private Set<String> createParty(String player, Reward reward)
+    private Set<Player> createParty(Player player, Reward reward)
     {
-        Set<String> party = new HashSet<String>();
+        Set<Player> party = new HashSet<Player>();
         party.add(player);
         party.addAll(reward.getParty());
         return party;
     }
 
-    private double calculateAmount(Reward reward)
+    public static double calculateAmount(Reward reward)
     {
-        LoggerUtil.getInstance().debug("Initial amount: " + reward.getCoin());
-        LoggerUtil.getInstance().debug("Gain: " + reward.getGain());
         double amount = reward.getCoin() * reward.getGain();
-        LoggerUtil.getInstance().debug("Initial amount * gain: " + amount);
 
         if (reward.getParty().size() > 1) {
-            LoggerUtil.getInstance().debug("Party size: " + reward.getParty().size());
             amount /= reward.getParty().size();
-            LoggerUtil.getInstance().debug("Party amount: " + amount);
         }
 
         if (reward.isIntegerCurrency()) {
             amount = round(amount, 0, BigDecimal.ROUND_HALF_UP);
-            LoggerUtil.getInstance().debug("Rounded integer amount: " + amount);
         }
         else {
             amount = round(amount, 2, BigDecimal.ROUND_HALF_UP);
-            LoggerUtil.getInstance().debug("Rounded decimal amount: " + amount);
+        }
+
+        if (LoggerUtil.getInstance().isDebug(DebugCategory.ECONOMY)) {
+            LoggerUtil.getInstance().debug(DebugCategory.ECONOMY, "%s: %.2f * gain %.3f / party %d = %s", reward.getName(), reward.getCoin(), reward.getGain(),
+                    reward.getParty().size(), amount);
         }
 
         return amount;
@@ -135,46 +179,114 @@ public class RewardEventListener implements Listener
 
     private void registerAmount(String member, double amount)
     {
-        if (!DependencyUtils.hasEconomy()) {
-            return;
-        }
-
-        if (amount > 0.0) {
-            DependencyUtils.getEconomy().depositPlayer(member, amount);
-        }
-        else if (amount < 0.0) {
-            DependencyUtils.getEconomy().withdrawPlayer(member, Math.abs(amount));
-        }
+        plugin.getPayoutLedger().register(member, amount);
     }
 
     private Message getPartyMessage(double amount)
     {
-        Message message = new DefaultMessage("");
+        Message message = PARTY_NONE;
 
         if (amount > 0.0) {
-            message = new DefaultMessage(PARTY_REWARD_MESSAGE);
+            message = PARTY_REWARD;
         }
         else if (amount < 0.0) {
-            message = new DefaultMessage(PARTY_PENALTY_MESSAGE);
+            message = PARTY_PENALTY;
         }
 
         return message;
     }
 
-    private void dropItems(Reward reward)
+    private int dropItems(Reward reward)
     {
-        for (ItemStack stack : reward.getItemDrops()) {
+        int count = 0;
+        List<ItemStack> stacks = mergeStacks(reward.getItemDrops());
+
+        for (ItemStack stack : stacks) {
             reward.getWorld().dropItemNaturally(reward.getLocation(), stack);
+            count += stack.getAmount();
+        }
+
+        if (!stacks.isEmpty() && LoggerUtil.getInstance().isDebug(DebugCategory.GENERAL)) {
+            LoggerUtil.getInstance().debug(DebugCategory.GENERAL, "%s: spawned %d item entities for %d stacks", reward.getName(), stacks.size(),
+                    reward.getItemDrops().size());
         }
+
+        return count;
     }
 
-    private void dropEntities(Reward reward)
+    private static List<ItemStack> mergeStacks(List<ItemStack> stacks)
     {
+        if (stacks.size() < 2) {
+            return stacks;
+        }
+
+        List<ItemStack> merged = new ArrayList<ItemStack>(stacks.size());
+
+        for (ItemStack stack : stacks) {
+            int remaining = stack.getAmount();
+
+            for (ItemStack target : merged) {
+                int space = target.getMaxStackSize() - target.getAmount();
+
+                if (space > 0 && target.isSimilar(stack)) {
+                    int moved = Math.min(space, remaining);
+                    target.setAmount(target.getAmount() + moved);
+                    remaining -= moved;
+
+                    if (remaining == 0) {
+                        break;
+                    }
+                }
+            }
+
+            if (remaining > 0) {
+                ItemStack rest = stack.clone();
+                rest.setAmount(remaining);
+                merged.add(rest);
+            }
+        }
+
+        return merged;
+    }
+
+    private int dropEntities(Reward reward)
+    {
+        int experience = 0;
+        int spawned = 0;
+
         for (EntityType type : reward.getEntityDrops()) {
-            Entity entity = reward.getWorld().spawn(reward.getLocation(), type.getEntityClass());
-            if (entity instanceof ExperienceOrb) {
-                ((ExperienceOrb) entity).setExperience(1);
+            if (type == EntityType.EXPERIENCE_ORB) {
+                experience++;
+            }
+            else {
+                reward.getWorld().spawn(reward.getLocation(), type.getEntityClass());
+                spawned++;
+            }
+        }
+
+        while (experience > 0) {
+            int value = getOrbValue(experience);
+            ExperienceOrb orb = reward.getWorld().spawn(reward.getLocation(), ExperienceOrb.class);
+            orb.setExperience(value);
+            experience -= value;
+            spawned++;
+        }
+
+        if (spawned > 0 && LoggerUtil.getInstance().isDebug(DebugCategory.GENERAL)) {
+            LoggerUtil.getInstance().debug(DebugCategory.GENERAL, "%s: spawned %d entities for %d entity drops", reward.getName(), spawned,
+                    reward.getEntityDrops().size());
+        }
+
+        return spawned;
+    }
+
+    private static int getOrbValue(int experience)
+    {
+        for (int size : ORB_SIZES) {
+            if (experience >= size) {
+                return size;
             }
         }
+        return 1;
     }
 }
@@ -19,11 +19,21 @@
  */
 package se.crafted.chrisb.ecoCreature.events.listeners;
 
+import org.bukkit.Material;
+import org.bukkit.block.Block;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
 import org.bukkit.event.entity.CreatureSpawnEvent;
 import org.bukkit.event.entity.CreatureSpawnEvent.SpawnReason;
+import org.bukkit.event.entity.EntityDeathEvent;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldSaveEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
 
 import se.crafted.chrisb.ecoCreature.ecoCreature;
 
@@ -40,7 +50,67 @@ public class SpawnEventListener implements Listener
     public void onCreatureSpawn(CreatureSpawnEvent event)
     {
         if (!event.isCancelled() && event.getSpawnReason() == SpawnReason.SPAWNER) {
-            plugin.getPluginConfig().getWorldSettings(event.getEntity().getWorld()).addSpawnerMob(event);
+            plugin.getSpawnerMobRegistry().addSpawnerMob(event);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityDeath(EntityDeathEvent event)
+    {
+        plugin.getSpawnerMobRegistry().removeSpawnerMob(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(ChunkLoadEvent event)
+    {
+        plugin.getSpawnerMobRegistry().scanChunk(event.getChunk());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onBlockPlace(BlockPlaceEvent event)
+    {
+        Block block = event.getBlock();
+
+        if (!event.isCancelled() && block.getType() == Material.MOB_SPAWNER) {
+            plugin.getSpawnerMobRegistry().addSpawner(block.getWorld(), block.getX(), block.getY(), block.getZ());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onBlockBreak(BlockBreakEvent event)
+    {
+        Block block = event.getBlock();
+
+        if (!event.isCancelled() && block.getType() == Material.MOB_SPAWNER) {
+            plugin.getSpawnerMobRegistry().removeSpawner(block.getWorld(), block.getX(), block.getY(), block.getZ());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldLoad(WorldLoadEvent event)
+    {
+        plugin.getSpawnerMobRegistry().loadWorld(event.getWorld());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldSave(WorldSaveEvent event)
+    {
+        plugin.getSpawnerMobRegistry().saveWorld(event.getWorld());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldUnload(WorldUnloadEvent event)
+    {
+        if (!event.isCancelled()) {
+            plugin.getSpawnerMobRegistry().unloadWorld(event.getWorld());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkUnload(ChunkUnloadEvent event)
+    {
+        if (!event.isCancelled()) {
+            plugin.getSpawnerMobRegistry().removeSpawnerMobs(event.getChunk().getEntities());
         }
     }
 }
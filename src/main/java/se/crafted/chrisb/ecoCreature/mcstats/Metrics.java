@@ -345,6 +345,18 @@ public class Metrics {
         }
     }
 
+    /**
+     * Stops submitting statistics without changing the opt-out setting.
+     */
+    public void stop() {
+        synchronized (optOutLock) {
+            if (task != null) {
+                task.cancel();
+                task = null;
+            }
+        }
+    }
+
     /**
      * Gets the File object of the config file that should be used to store data such as the GUID and opt-out status
      *
@@ -418,6 +430,9 @@ public class Metrics {
             while (iter.hasNext()) {
                 final Graph graph = iter.next();
 
+                // Let the graph capture its values once for this post
+                graph.onSubmit();
+
                 for (Plotter plotter : graph.getPlotters()) {
                     // The key name to send to the metrics server
                     // The format is C-GRAPHNAME-PLOTTERNAME where separator - is defined at the top
@@ -540,7 +555,7 @@ public class Metrics {
          */
         private final Set<Plotter> plotters = new LinkedHashSet<Plotter>();
 
-        private Graph(final String name) {
+        protected Graph(final String name) {
             this.name = name;
         }
 
@@ -601,6 +616,12 @@ public class Metrics {
         protected void onOptOut() {
         }
 
+        /**
+         * Called before the values of this graph's plotters are read for a post.
+         */
+        protected void onSubmit() {
+        }
+
     }
 
     /**
@@ -19,16 +19,25 @@
  */
 package se.crafted.chrisb.ecoCreature.messages;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 
 public class DefaultMessage implements Message
 {
     private static final String DEFAULT_TEMPLATE = "";
+    private static final char COLOR_CHAR = '\u00A7';
+    private static final int PARAMETER_CAPACITY = 32;
+
+    private static final MessageToken[] TOKENS = MessageToken.values();
+    private static final String[] NO_LITERALS = new String[0];
+    private static final MessageToken[] NO_TOKENS = new MessageToken[0];
 
     private boolean messageOutputEnabled;
 
     private String template;
+    private String[] literals;
+    private MessageToken[] tokens;
 
     public DefaultMessage()
     {
@@ -37,7 +46,7 @@ public class DefaultMessage implements Message
 
     public DefaultMessage(String template)
     {
-        this.template = convertMessage(template);
+        setTemplate(template);
         messageOutputEnabled = true;
     }
 
@@ -62,66 +71,141 @@ public class DefaultMessage implements Message
     @Override
     public void setTemplate(String template)
     {
-        this.template = template;
+        this.template = convertMessage(template);
+        parseTemplate(this.template);
     }
 
     @Override
     public String getAssembledMessage(Map<MessageToken, String> parameters)
     {
-        String assembledMessage = template;
+        if (tokens.length == 0) {
+            return template;
+        }
 
-        if (assembledMessage != null && assembledMessage.length() > 0) {
-            for (Entry<MessageToken, String> entry : parameters.entrySet()) {
-                if (entry.getKey() == MessageToken.AMOUNT) {
-                    assembledMessage = assembledMessage.replaceAll(entry.getKey().toString(), entry.getValue().replaceAll("\\$", "\\\\\\$"));
-                }
-                else if (entry.getKey() == MessageToken.ITEM) {
-                    assembledMessage = assembledMessage.replaceAll(entry.getKey().toString(), toCamelCase(entry.getValue()));
-                }
-                else {
-                    assembledMessage = assembledMessage.replaceAll(entry.getKey().toString(), entry.getValue());
-                }
+        StringBuilder assembledMessage = new StringBuilder(template.length() + PARAMETER_CAPACITY);
+
+        for (int i = 0; i < tokens.length; i++) {
+            assembledMessage.append(literals[i]);
+
+            String value = parameters.get(tokens[i]);
+            if (value == null) {
+                assembledMessage.append(tokens[i].toString());
+            }
+            else if (tokens[i] == MessageToken.ITEM) {
+                appendItemName(assembledMessage, value);
+            }
+            else {
+                assembledMessage.append(value);
             }
         }
 
-        return assembledMessage;
+        return assembledMessage.append(literals[tokens.length]).toString();
     }
 
-    private static String toCamelCase(String rawItemName)
+    private void parseTemplate(String message)
     {
-        String[] rawItemNameParts = rawItemName.split("_");
-        StringBuilder itemNameBuilder = new StringBuilder("");
+        if (message == null || message.length() == 0) {
+            literals = NO_LITERALS;
+            tokens = NO_TOKENS;
+            return;
+        }
+
+        List<String> literalList = new ArrayList<String>();
+        List<MessageToken> tokenList = new ArrayList<MessageToken>();
+        int literalStart = 0;
+        int index = message.indexOf('<');
 
-        for (String itemNamePart : rawItemNameParts) {
-            itemNameBuilder.append(" ").append(toProperCase(itemNamePart));
+        while (index >= 0) {
+            MessageToken token = matchToken(message, index);
+
+            if (token != null) {
+                literalList.add(message.substring(literalStart, index));
+                tokenList.add(token);
+                literalStart = index + token.toString().length();
+                index = message.indexOf('<', literalStart);
+            }
+            else {
+                index = message.indexOf('<', index + 1);
+            }
         }
 
-        String itemName = itemNameBuilder.toString();
-        if (itemName.trim().equals("Air")) {
-            itemName = "Fists";
+        literalList.add(message.substring(literalStart));
+
+        literals = literalList.toArray(NO_LITERALS);
+        tokens = tokenList.toArray(NO_TOKENS);
+    }
+
+    private static MessageToken matchToken(String message, int index)
+    {
+        for (MessageToken token : TOKENS) {
+            if (message.startsWith(token.toString(), index)) {
+                return token;
+            }
         }
 
-        if (itemName.trim().equals("Bow")) {
+        return null;
+    }
+
+    private static void appendItemName(StringBuilder builder, String rawItemName)
+    {
+        String itemName = toCamelCase(rawItemName);
+
+        if (itemName.equals("Air")) {
+            itemName = "Fists";
+        }
+        else if (itemName.equals("Bow")) {
             itemName = "Bow & Arrow";
         }
 
-        return itemName.trim();
+        builder.append(itemName);
     }
 
-    private static String toProperCase(String str)
+    private static String toCamelCase(String rawItemName)
     {
-        if (str.length() < 1) {
-            return str;
+        StringBuilder itemNameBuilder = new StringBuilder(rawItemName.length());
+        boolean wordStart = true;
+
+        for (int i = 0; i < rawItemName.length(); i++) {
+            char c = rawItemName.charAt(i);
+
+            if (c == '_') {
+                itemNameBuilder.append(' ');
+                wordStart = true;
+            }
+            else {
+                itemNameBuilder.append(wordStart ? Character.toUpperCase(c) : Character.toLowerCase(c));
+                wordStart = false;
+            }
         }
-        return str.substring(0, 1).toUpperCase() + str.substring(1).toLowerCase();
+
+        return itemNameBuilder.toString().trim();
     }
 
     private static String convertMessage(String message)
     {
-        if (message != null) {
-            return message.replaceAll("&&", "\b").replaceAll("&", "§").replaceAll("\b", "&");
+        if (message == null || message.indexOf('&') < 0) {
+            return message;
         }
 
-        return null;
+        StringBuilder converted = new StringBuilder(message.length());
+
+        for (int i = 0; i < message.length(); i++) {
+            char c = message.charAt(i);
+
+            if (c == '&') {
+                if (i + 1 < message.length() && message.charAt(i + 1) == '&') {
+                    converted.append('&');
+                    i++;
+                }
+                else {
+                    converted.append(COLOR_CHAR);
+                }
+            }
+            else {
+                converted.append(c);
+            }
+        }
+
+        return converted.toString();
     }
 }
@@ -20,14 +20,19 @@
 package se.crafted.chrisb.ecoCreature.messages;
 
 import java.util.Map;
+import java.util.regex.Pattern;
 
-import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
 import se.crafted.chrisb.ecoCreature.commons.LoggerUtil;
+import se.crafted.chrisb.ecoCreature.economy.CoinAuditLog;
+import se.crafted.chrisb.ecoCreature.metrics.Stage;
+import se.crafted.chrisb.ecoCreature.metrics.StageStats;
 
 public class MessageHandler
 {
+    private static final Pattern COLOR_CODES = Pattern.compile("(?i)§[a-fklmnor0-9]");
+
     private Message message;
     private Map<MessageToken, String> parameters;
 
@@ -39,25 +44,21 @@ public class MessageHandler
 
     public void send(Player player)
     {
-        send(player.getName());
-    }
-
-    public void send(String playerName)
-    {
+        long start = StageStats.getInstance().start();
         String assembledMessage = message.getAssembledMessage(parameters);
 
         if (assembledMessage != null && assembledMessage.length() > 0) {
-            if (message.isMessageOutputEnabled()) {
-                Player player = Bukkit.getPlayer(playerName);
-                if (player != null) {
-                    player.sendMessage(assembledMessage);
-                }
+            if (message.isMessageOutputEnabled() && player.isOnline()) {
+                player.sendMessage(assembledMessage);
             }
 
-            if (message instanceof CoinMessageDecorator && ((CoinMessageDecorator) message).isCoinLoggingEnabled()) {
+            // NOTE: coin rewards go to the audit log instead when it is enabled
+            if (isCoinLoggingEnabled(message) && !CoinAuditLog.getInstance().isEnabled()) {
                 LoggerUtil.getInstance().info(removeColorCodes(String.format("%s: %s", getAwardedPlayerName(), assembledMessage)));
             }
         }
+
+        StageStats.getInstance().stop(Stage.MESSAGE, start);
     }
 
     private String getAwardedPlayerName()
@@ -65,8 +66,13 @@ public class MessageHandler
         return parameters.get(MessageToken.PLAYER);
     }
 
+    public static boolean isCoinLoggingEnabled(Message message)
+    {
+        return message instanceof CoinMessageDecorator && ((CoinMessageDecorator) message).isCoinLoggingEnabled();
+    }
+
     private static String removeColorCodes(String msg)
     {
-        return msg.replaceAll("(?i)§[a-fklmnor0-9]", "");
+        return COLOR_CODES.matcher(msg).replaceAll("");
     }
 }
@@ -23,7 +23,8 @@ public enum MessageToken {
     PLAYER("<plr>"),
     AMOUNT("<amt>"),
     ITEM("<itm>"),
-    CREATURE("<crt>");
+    CREATURE("<crt>"),
+    COUNT("<cnt>");
 
     private String name;
 
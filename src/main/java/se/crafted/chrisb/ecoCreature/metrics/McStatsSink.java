@@ -0,0 +1,135 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.metrics;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.bukkit.plugin.Plugin;
+
+import se.crafted.chrisb.ecoCreature.commons.LoggerUtil;
+import se.crafted.chrisb.ecoCreature.mcstats.Metrics;
+import se.crafted.chrisb.ecoCreature.mcstats.Metrics.Graph;
+import se.crafted.chrisb.ecoCreature.mcstats.Metrics.Plotter;
+import se.crafted.chrisb.ecoCreature.metrics.RewardMetrics.Snapshot;
+import se.crafted.chrisb.ecoCreature.metrics.RewardMetrics.View;
+
+public class McStatsSink implements MetricsSink
+{
+    private final Plugin plugin;
+
+    private Metrics metrics;
+
+    public McStatsSink(Plugin plugin)
+    {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public synchronized void start(RewardMetrics rewardMetrics)
+    {
+        try {
+            metrics = new Metrics(plugin);
+        }
+        catch (IOException e) {
+            LoggerUtil.getInstance().warning("Metrics failed to load.");
+            return;
+        }
+
+        metrics.addGraph(new RewardGraph("Reward Types", rewardMetrics.createView()));
+        metrics.start();
+    }
+
+    @Override
+    public synchronized void stop()
+    {
+        if (metrics != null) {
+            metrics.stop();
+            metrics = null;
+        }
+    }
+
+    /**
+     * Takes one snapshot of the view per post, so every plotter reports the
+     * same instant and a reset moves the baseline to exactly what was sent.
+     */
+    private static final class RewardGraph extends Graph
+    {
+        private final View view;
+        private final Set<String> plotted;
+        private volatile Snapshot snapshot;
+
+        private RewardGraph(String name, View view)
+        {
+            super(name);
+            this.view = view;
+            plotted = new HashSet<String>();
+            snapshot = view.snapshot();
+        }
+
+        @Override
+        protected void onSubmit()
+        {
+            snapshot = view.snapshot();
+
+            for (String type : snapshot.getTypeNames()) {
+                if (plotted.add(type)) {
+                    addPlotter(new CounterPlotter(type, this));
+                }
+            }
+        }
+
+        long getKills(String type)
+        {
+            RewardCount count = snapshot.getTypes().get(type);
+            return count != null ? count.getKills() : 0L;
+        }
+
+        void reset()
+        {
+            // NOTE: every plotter resets after a post, resetting to the same snapshot keeps this idempotent
+            view.reset(snapshot);
+        }
+    }
+
+    private static final class CounterPlotter extends Plotter
+    {
+        private final RewardGraph graph;
+
+        private CounterPlotter(String name, RewardGraph graph)
+        {
+            super(name);
+            this.graph = graph;
+        }
+
+        @Override
+        public int getValue()
+        {
+            return (int) Math.min(graph.getKills(getColumnName()), Integer.MAX_VALUE);
+        }
+
+        @Override
+        public void reset()
+        {
+            graph.reset();
+        }
+    }
+}
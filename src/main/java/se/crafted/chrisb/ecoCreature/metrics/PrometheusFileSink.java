@@ -0,0 +1,97 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.metrics;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import se.crafted.chrisb.ecoCreature.commons.LoggerUtil;
+
+public class PrometheusFileSink implements MetricsSink, Runnable
+{
+    private final Plugin plugin;
+    private final File file;
+    private final long intervalTicks;
+
+    private volatile RewardMetrics metrics;
+    private BukkitTask task;
+
+    public PrometheusFileSink(Plugin plugin, File file, long intervalTicks)
+    {
+        this.plugin = plugin;
+        this.file = file;
+        this.intervalTicks = Math.max(1L, intervalTicks);
+    }
+
+    @Override
+    public synchronized void start(RewardMetrics metrics)
+    {
+        this.metrics = metrics;
+
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+
+        task = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this, intervalTicks, intervalTicks);
+        LoggerUtil.getInstance().info("Writing metrics to " + file.getPath());
+    }
+
+    @Override
+    public synchronized void stop()
+    {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    @Override
+    public void run()
+    {
+        try {
+            write(PrometheusFormatter.format(metrics, StageStats.getInstance()));
+        }
+        catch (IOException e) {
+            LoggerUtil.getInstance().warning("Failed to write metrics file: " + e.toString());
+        }
+    }
+
+    private void write(String text) throws IOException
+    {
+        File tempFile = new File(file.getPath() + ".tmp");
+        OutputStream out = new FileOutputStream(tempFile);
+        try {
+            out.write(text.getBytes("UTF-8"));
+        }
+        finally {
+            out.close();
+        }
+
+        if (!tempFile.renameTo(file) && !(file.delete() && tempFile.renameTo(file))) {
+            throw new IOException("Could not replace " + file.getName());
+        }
+    }
+}
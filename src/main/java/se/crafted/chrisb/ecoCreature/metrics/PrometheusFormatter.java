@@ -0,0 +1,156 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.metrics;
+
+import java.util.Locale;
+import java.util.Map;
+
+public final class PrometheusFormatter
+{
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final long[] LATENCY_BOUNDS = { 1000L, 2500L, 5000L, 10000L, 25000L, 50000L, 100000L, 250000L, 500000L, 1000000L, 2500000L,
+            5000000L, 10000000L, 25000000L, 50000000L, 100000000L, 250000000L, 500000000L, 1000000000L };
+    private static final double NANOS_PER_SECOND = 1000000000.0;
+
+    private enum CountSeries
+    {
+        KILLS("kills", "Rewarded kills"),
+        COIN("coin", "Coin paid"),
+        ITEMS("items", "Items dropped"),
+        ENTITIES("entities", "Entities spawned");
+
+        private final String name;
+        private final String help;
+
+        private CountSeries(String name, String help)
+        {
+            this.name = name;
+            this.help = help;
+        }
+
+        String getValue(RewardCount count)
+        {
+            switch (this) {
+                case KILLS:
+                    return Long.toString(count.getKills());
+                case COIN:
+                    return formatDouble(count.getCoin());
+                case ITEMS:
+                    return Long.toString(count.getItems());
+                default:
+                    return Long.toString(count.getEntities());
+            }
+        }
+    }
+
+    private PrometheusFormatter()
+    {
+    }
+
+    public static String format(RewardMetrics metrics, StageStats stats)
+    {
+        StringBuilder out = new StringBuilder(4096);
+
+        Map<String, RewardCount> types = metrics.getTypeCounts();
+        Map<String, RewardCount> worlds = metrics.getWorldCounts();
+
+        for (CountSeries series : CountSeries.values()) {
+            appendCounts(out, "ecocreature_reward_" + series.name + "_total", series.help + " by reward type.", "reward", types, series);
+            appendCounts(out, "ecocreature_world_" + series.name + "_total", series.help + " by world.", "world", worlds, series);
+        }
+
+        appendLatencies(out, stats);
+
+        return out.toString();
+    }
+
+    private static void appendCounts(StringBuilder out, String name, String help, String label, Map<String, RewardCount> counts, CountSeries series)
+    {
+        appendHeader(out, name, help, "counter");
+
+        for (Map.Entry<String, RewardCount> entry : counts.entrySet()) {
+            out.append(name).append('{').append(label).append("=\"").append(escape(entry.getKey())).append("\"} ").append(series.getValue(entry.getValue())).append('\n');
+        }
+    }
+
+    private static void appendLatencies(StringBuilder out, StageStats stats)
+    {
+        String name = "ecocreature_stage_latency_seconds";
+        appendHeader(out, name, "Time spent in each reward stage, enabled with System.Metrics.StageTimings.", "histogram");
+
+        for (Map.Entry<String, LatencyHistogram[]> entry : stats.getHistograms().entrySet()) {
+            String labels = "world=\"" + escape(entry.getKey()) + "\",stage=\"";
+
+            for (Stage stage : Stage.values()) {
+                LatencyHistogram histogram = entry.getValue()[stage.ordinal()];
+                long count = histogram.getCount();
+
+                if (count == 0) {
+                    continue;
+                }
+
+                String stageLabels = labels + stage.name().toLowerCase(Locale.ENGLISH) + "\"";
+                for (long bound : LATENCY_BOUNDS) {
+                    out.append(name).append("_bucket{").append(stageLabels).append(",le=\"").append(formatDouble(bound / NANOS_PER_SECOND)).append("\"} ")
+                            .append(histogram.getCountAtOrBelow(bound)).append('\n');
+                }
+                out.append(name).append("_bucket{").append(stageLabels).append(",le=\"+Inf\"} ").append(count).append('\n');
+                out.append(name).append("_sum{").append(stageLabels).append("} ").append(formatDouble(histogram.getSum() / NANOS_PER_SECOND)).append('\n');
+                out.append(name).append("_count{").append(stageLabels).append("} ").append(count).append('\n');
+            }
+        }
+    }
+
+    private static void appendHeader(StringBuilder out, String name, String help, String type)
+    {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static String formatDouble(double value)
+    {
+        return Double.toString(value);
+    }
+
+    private static String escape(String value)
+    {
+        StringBuilder escaped = null;
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            String replacement = c == '\\' ? "\\\\" : c == '"' ? "\\\"" : c == '\n' ? "\\n" : null;
+
+            if (replacement != null && escaped == null) {
+                escaped = new StringBuilder(value.length() + 8).append(value, 0, i);
+            }
+            if (escaped != null) {
+                if (replacement != null) {
+                    escaped.append(replacement);
+                }
+                else {
+                    escaped.append(c);
+                }
+            }
+        }
+
+        return escaped != null ? escaped.toString() : value;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import se.crafted.chrisb.ecoCreature.commons.LoggerUtil;
+
+public class PrometheusHttpSink implements MetricsSink, HttpHandler
+{
+    private static final String LOCALHOST = "127.0.0.1";
+    private static final String PATH = "/metrics";
+
+    private final int port;
+
+    private volatile RewardMetrics metrics;
+    private HttpServer server;
+
+    public PrometheusHttpSink(int port)
+    {
+        this.port = port;
+    }
+
+    @Override
+    public synchronized void start(RewardMetrics metrics)
+    {
+        this.metrics = metrics;
+
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getByName(LOCALHOST), port), 0);
+            server.createContext(PATH, this);
+            server.start();
+            LoggerUtil.getInstance().info("Serving metrics on http://" + LOCALHOST + ":" + port + PATH);
+        }
+        catch (IOException e) {
+            LoggerUtil.getInstance().warning("Failed to start metrics endpoint on port " + port + ": " + e.toString());
+            server = null;
+        }
+    }
+
+    @Override
+    public synchronized void stop()
+    {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException
+    {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            byte[] body = PrometheusFormatter.format(metrics, StageStats.getInstance()).getBytes("UTF-8");
+            exchange.getResponseHeaders().set("Content-Type", PrometheusFormatter.CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+
+            OutputStream out = exchange.getResponseBody();
+            out.write(body);
+            out.close();
+        }
+        finally {
+            exchange.close();
+        }
+    }
+}
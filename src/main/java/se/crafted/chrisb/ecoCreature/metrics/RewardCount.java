@@ -0,0 +1,74 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.metrics;
+
+public final class RewardCount
+{
+    public static final RewardCount ZERO = new RewardCount(0L, 0.0, 0L, 0L);
+
+    private final long kills;
+    private final double coin;
+    private final long items;
+    private final long entities;
+
+    public RewardCount(long kills, double coin, long items, long entities)
+    {
+        this.kills = kills;
+        this.coin = coin;
+        this.items = items;
+        this.entities = entities;
+    }
+
+    public long getKills()
+    {
+        return kills;
+    }
+
+    public double getCoin()
+    {
+        return coin;
+    }
+
+    public long getItems()
+    {
+        return items;
+    }
+
+    public long getEntities()
+    {
+        return entities;
+    }
+
+    public boolean isEmpty()
+    {
+        return kills == 0L && coin == 0.0 && items == 0L && entities == 0L;
+    }
+
+    public RewardCount minus(RewardCount other)
+    {
+        return new RewardCount(kills - other.kills, coin - other.coin, items - other.items, entities - other.entities);
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("kills=%d coin=%.2f items=%d entities=%d", kills, coin, items, entities);
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import se.crafted.chrisb.ecoCreature.commons.AtomicDouble;
+
+public final class RewardCounter
+{
+    private final AtomicLong kills;
+    private final AtomicDouble coin;
+    private final AtomicLong items;
+    private final AtomicLong entities;
+
+    public RewardCounter()
+    {
+        kills = new AtomicLong();
+        coin = new AtomicDouble();
+        items = new AtomicLong();
+        entities = new AtomicLong();
+    }
+
+    public void add(double coinPaid, int itemsDropped, int entitiesSpawned)
+    {
+        kills.incrementAndGet();
+
+        if (coinPaid != 0.0) {
+            coin.addAndGet(coinPaid);
+        }
+        if (itemsDropped != 0) {
+            items.addAndGet(itemsDropped);
+        }
+        if (entitiesSpawned != 0) {
+            entities.addAndGet(entitiesSpawned);
+        }
+    }
+
+    public long getKills()
+    {
+        return kills.get();
+    }
+
+    public RewardCount get()
+    {
+        return new RewardCount(kills.get(), coin.get(), items.get(), entities.get());
+    }
+}
@@ -19,59 +19,183 @@
  */
 package se.crafted.chrisb.ecoCreature.metrics;
 
-import java.io.IOException;
-import java.util.Hashtable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
-
-import org.bukkit.plugin.Plugin;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import se.crafted.chrisb.ecoCreature.commons.LoggerUtil;
-import se.crafted.chrisb.ecoCreature.mcstats.Metrics;
-import se.crafted.chrisb.ecoCreature.mcstats.Metrics.Graph;
-import se.crafted.chrisb.ecoCreature.mcstats.Metrics.Plotter;
 
 public class RewardMetrics
 {
-    private Map<String, Integer> typeCount;
-    private Metrics metrics;
-    private Graph graph;
+    private final ConcurrentMap<String, RewardCounter> typeCounters;
+    private final ConcurrentMap<String, RewardCounter> worldCounters;
+    private final List<MetricsSink> sinks;
 
-    public RewardMetrics(Plugin plugin)
+    public RewardMetrics()
     {
-        try {
-            metrics = new Metrics(plugin);
-        }
-        catch (IOException e) {
-            LoggerUtil.getInstance().warning("Metrics failed to load.");
+        typeCounters = new ConcurrentHashMap<String, RewardCounter>();
+        worldCounters = new ConcurrentHashMap<String, RewardCounter>();
+        sinks = new ArrayList<MetricsSink>();
+    }
+
+    public synchronized void setSinks(List<MetricsSink> newSinks)
+    {
+        stopSinks();
+
+        for (MetricsSink sink : newSinks) {
+            sink.start(this);
+            sinks.add(sink);
         }
+    }
 
-        if (metrics != null) {
-            typeCount = new Hashtable<String, Integer>();
-            graph = metrics.createGraph("Reward Types");
-            metrics.start();
+    public synchronized void stopSinks()
+    {
+        for (MetricsSink sink : sinks) {
+            sink.stop();
         }
+        sinks.clear();
     }
 
-    public void addCount(String name)
+    public void addReward(String world, String name, double coin, int items, int entities)
     {
         if (name == null) {
             LoggerUtil.getInstance().warning("Null type name passed into metrics.");
             return;
         }
 
-        if (graph != null) {
-            if (!typeCount.containsKey(name)) {
-                typeCount.put(name, 0);
-                graph.addPlotter(new Plotter(name) {
-                    @Override
-                    public int getValue()
-                    {
-                        return typeCount.get(getColumnName());
-                    }
-                });
+        getCounter(typeCounters, name).add(coin, items, entities);
+
+        if (world != null) {
+            getCounter(worldCounters, world).add(coin, items, entities);
+        }
+    }
+
+    private RewardCounter getCounter(ConcurrentMap<String, RewardCounter> counters, String name)
+    {
+        RewardCounter counter = counters.get(name);
+
+        if (counter == null) {
+            RewardCounter newCounter = new RewardCounter();
+            counter = counters.putIfAbsent(name, newCounter);
+
+            if (counter == null) {
+                counter = newCounter;
+            }
+        }
+
+        return counter;
+    }
+
+    public Map<String, RewardCount> getTypeCounts()
+    {
+        return getCounts(typeCounters);
+    }
+
+    public Map<String, RewardCount> getWorldCounts()
+    {
+        return getCounts(worldCounters);
+    }
+
+    private static Map<String, RewardCount> getCounts(Map<String, RewardCounter> counters)
+    {
+        Map<String, RewardCount> counts = new TreeMap<String, RewardCount>();
+
+        for (Map.Entry<String, RewardCounter> entry : counters.entrySet()) {
+            counts.put(entry.getKey(), entry.getValue().get());
+        }
+
+        return Collections.unmodifiableMap(counts);
+    }
+
+    public View createView()
+    {
+        return new View();
+    }
+
+    public final class View
+    {
+        private Map<String, RewardCount> typeBaseline;
+        private Map<String, RewardCount> worldBaseline;
+
+        private View()
+        {
+            typeBaseline = Collections.emptyMap();
+            worldBaseline = Collections.emptyMap();
+        }
+
+        public synchronized Snapshot snapshot()
+        {
+            Map<String, RewardCount> typeCounts = getTypeCounts();
+            Map<String, RewardCount> worldCounts = getWorldCounts();
+
+            return new Snapshot(typeCounts, worldCounts, delta(typeCounts, typeBaseline), delta(worldCounts, worldBaseline));
+        }
+
+        public synchronized void reset(Snapshot snapshot)
+        {
+            typeBaseline = snapshot.typeCounts;
+            worldBaseline = snapshot.worldCounts;
+        }
+
+        public synchronized Snapshot snapshotAndReset()
+        {
+            Snapshot snapshot = snapshot();
+            reset(snapshot);
+
+            return snapshot;
+        }
+
+        private Map<String, RewardCount> delta(Map<String, RewardCount> counts, Map<String, RewardCount> baseline)
+        {
+            Map<String, RewardCount> delta = new TreeMap<String, RewardCount>();
+
+            for (Map.Entry<String, RewardCount> entry : counts.entrySet()) {
+                RewardCount previous = baseline.get(entry.getKey());
+                RewardCount count = previous != null ? entry.getValue().minus(previous) : entry.getValue();
+
+                if (!count.isEmpty()) {
+                    delta.put(entry.getKey(), count);
+                }
             }
 
-            typeCount.put(name, typeCount.get(name) + 1);
+            return Collections.unmodifiableMap(delta);
+        }
+    }
+
+    public static final class Snapshot
+    {
+        private final Map<String, RewardCount> typeCounts;
+        private final Map<String, RewardCount> worldCounts;
+        private final Map<String, RewardCount> types;
+        private final Map<String, RewardCount> worlds;
+
+        private Snapshot(Map<String, RewardCount> typeCounts, Map<String, RewardCount> worldCounts, Map<String, RewardCount> types,
+                Map<String, RewardCount> worlds)
+        {
+            this.typeCounts = typeCounts;
+            this.worldCounts = worldCounts;
+            this.types = types;
+            this.worlds = worlds;
+        }
+
+        public Map<String, RewardCount> getTypes()
+        {
+            return types;
+        }
+
+        public Map<String, RewardCount> getWorlds()
+        {
+            return worlds;
+        }
+
+        Set<String> getTypeNames()
+        {
+            return typeCounts.keySet();
         }
     }
 }
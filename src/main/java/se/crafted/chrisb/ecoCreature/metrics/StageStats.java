@@ -0,0 +1,133 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+public final class StageStats
+{
+    public static final String GLOBAL = "*";
+
+    private static StageStats instance = new StageStats();
+
+    private final ConcurrentMap<String, LatencyHistogram[]> histograms;
+    private final ThreadLocal<String> currentWorld;
+    private volatile boolean enabled;
+
+    public static StageStats getInstance()
+    {
+        return instance;
+    }
+
+    private StageStats()
+    {
+        histograms = new ConcurrentHashMap<String, LatencyHistogram[]>();
+        currentWorld = new ThreadLocal<String>();
+        enabled = false;
+    }
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled)
+    {
+        this.enabled = enabled;
+    }
+
+    public long start()
+    {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    public long enter(String world)
+    {
+        if (!enabled) {
+            return 0L;
+        }
+
+        currentWorld.set(world);
+        return System.nanoTime();
+    }
+
+    public void exit(long start)
+    {
+        if (start != 0L) {
+            stop(Stage.LISTENER, start);
+            currentWorld.remove();
+        }
+    }
+
+    public void stop(Stage stage, long start)
+    {
+        if (start != 0L) {
+            record(stage, System.nanoTime() - start);
+        }
+    }
+
+    public void record(Stage stage, long nanos)
+    {
+        String world = currentWorld.get();
+        getHistograms(world != null ? world : GLOBAL)[stage.ordinal()].record(nanos);
+    }
+
+    private LatencyHistogram[] getHistograms(String world)
+    {
+        LatencyHistogram[] stages = histograms.get(world);
+
+        if (stages == null) {
+            LatencyHistogram[] newStages = new LatencyHistogram[Stage.values().length];
+            for (int i = 0; i < newStages.length; i++) {
+                newStages[i] = new LatencyHistogram();
+            }
+            stages = histograms.putIfAbsent(world, newStages);
+            if (stages == null) {
+                stages = newStages;
+            }
+        }
+
+        return stages;
+    }
+
+    public LatencyHistogram getHistogram(String world, Stage stage)
+    {
+        LatencyHistogram[] stages = histograms.get(world);
+        return stages != null ? stages[stage.ordinal()] : null;
+    }
+
+    public Map<String, LatencyHistogram[]> getHistograms()
+    {
+        return Collections.unmodifiableMap(new TreeMap<String, LatencyHistogram[]>(histograms));
+    }
+
+    public void reset()
+    {
+        for (LatencyHistogram[] stages : histograms.values()) {
+            for (LatencyHistogram histogram : stages) {
+                histogram.reset();
+            }
+        }
+    }
+}
@@ -25,10 +25,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 
 import se.crafted.chrisb.ecoCreature.messages.DefaultMessage;
@@ -38,9 +38,9 @@ import se.crafted.chrisb.ecoCreature.messages.MessageToken;
 public class Reward
 {
     private Location location;
-    private String worldName;
+    private World world;
     private double gain;
-    private Set<String> party;
+    private Set<Player> party;
     private boolean integerCurrency;
 
     private String name;
@@ -53,7 +53,7 @@ public class Reward
     public Reward(Location location)
     {
         this.location = location;
-        worldName = location.getWorld().getName();
+        world = location.getWorld();
         gain = 1.0;
         party = Collections.emptySet();
         integerCurrency = false;
@@ -68,7 +68,12 @@ public class Reward
 
     public World getWorld()
     {
-        return Bukkit.getWorld(worldName);
+        return world;
+    }
+
+    public String getWorldName()
+    {
+        return world.getName();
     }
 
     public Location getLocation()
@@ -96,12 +101,12 @@ public class Reward
         return party.size() > 0;
     }
 
-    public Set<String> getParty()
+    public Set<Player> getParty()
     {
         return party;
     }
 
-    public void setParty(Set<String> party)
+    public void setParty(Set<Player> party)
     {
         this.party = party;
     }
@@ -48,4 +48,10 @@ public abstract class AbstractFactionsGain<T> extends AbstractPlayerGain<T>
         return fPlayer != null && getMultipliers().containsKey(fPlayer.getRelationToLocation()) ?
                 getMultipliers().get(fPlayer.getRelationToLocation()) : NO_GAIN;
     }
+
+    @Override
+    public GainScope getScope()
+    {
+        return GainScope.LOCATION;
+    }
 }
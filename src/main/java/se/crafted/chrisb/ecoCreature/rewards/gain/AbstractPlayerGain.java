@@ -26,6 +26,7 @@ import java.util.Map;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
 
+import se.crafted.chrisb.ecoCreature.commons.DebugCategory;
 import se.crafted.chrisb.ecoCreature.commons.DependencyUtils;
 import se.crafted.chrisb.ecoCreature.commons.LoggerUtil;
 
@@ -35,27 +36,35 @@ public abstract class AbstractPlayerGain<T> implements PlayerGain
     protected static final double NO_GAIN = 1.0;
 
     private final Map<T, Double> multipliers;
-    private final String permission;
+    private final int permissionNode;
 
     public AbstractPlayerGain(Map<T, Double> multipliers, String permission)
     {
         this.multipliers = multipliers;
-        this.permission = permission;
+        permissionNode = DependencyUtils.getPermissionNode(permission);
     }
 
     @Override
     public boolean hasPermission(Player player)
     {
-        return DependencyUtils.hasPermission(player, permission);
+        return DependencyUtils.hasPermission(player, permissionNode);
     }
 
     @Override
     public abstract double getGain(Player player);
 
+    @Override
+    public GainScope getScope()
+    {
+        return GainScope.KILL;
+    }
+
     protected double getMultiplier(T type)
     {
         double multiplier = type != null && getMultipliers().containsKey(type) ? getMultipliers().get(type) : NO_GAIN;
-        LoggerUtil.getInstance().debug("Multiplier: " + multiplier);
+        if (LoggerUtil.getInstance().isDebug(DebugCategory.GAINS)) {
+            LoggerUtil.getInstance().debug(DebugCategory.GAINS, "%s multiplier for %s: %.3f", getClass().getSimpleName(), type, multiplier);
+        }
         return multiplier;
     }
 
@@ -44,6 +44,12 @@ public class BiomeGain extends AbstractPlayerGain<Biome>
         return getMultiplier(getBiome(player));
     }
 
+    @Override
+    public GainScope getScope()
+    {
+        return GainScope.LOCATION;
+    }
+
     private static Biome getBiome(Player player)
     {
         return player.getWorld().getBiome(player.getLocation().getBlockX(), player.getLocation().getBlockY());
@@ -45,6 +45,12 @@ public class EnvironmentGain extends AbstractPlayerGain<Environment>
         return getMultiplier(player.getWorld().getEnvironment());
     }
 
+    @Override
+    public GainScope getScope()
+    {
+        return GainScope.PLAYER;
+    }
+
     public static Set<PlayerGain> parseConfig(ConfigurationSection config)
     {
         Set<PlayerGain> gain = Collections.emptySet();
@@ -0,0 +1,128 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.rewards.gain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+public class GainContext
+{
+    private static final double NO_GAIN = 1.0;
+
+    private final GainMultipliers owner;
+
+    private long playerExpires;
+    private final double[] playerGains;
+    private double playerProduct;
+
+    private World world;
+    private int blockX;
+    private int blockY;
+    private int blockZ;
+    private final double[] locationGains;
+    private double locationProduct;
+
+    private final double[] killGains;
+
+    private long playerUpdates;
+    private long locationUpdates;
+    private long lookups;
+
+    GainContext(GainMultipliers owner)
+    {
+        this.owner = owner;
+        playerGains = new double[owner.getGains(GainScope.PLAYER).length];
+        locationGains = new double[owner.getGains(GainScope.LOCATION).length];
+        killGains = new double[owner.getGains(GainScope.KILL).length];
+        playerExpires = Long.MIN_VALUE;
+    }
+
+    public synchronized double getMultiplier(Player player, long now)
+    {
+        lookups++;
+
+        if (now >= playerExpires) {
+            playerProduct = evaluate(owner.getGains(GainScope.PLAYER), playerGains, player);
+            playerExpires = now + owner.getCacheTime();
+            playerUpdates++;
+        }
+
+        Location location = player.getLocation();
+        if (location.getWorld() != world || location.getBlockX() != blockX || location.getBlockY() != blockY || location.getBlockZ() != blockZ) {
+            locationProduct = evaluate(owner.getGains(GainScope.LOCATION), locationGains, player);
+            world = location.getWorld();
+            blockX = location.getBlockX();
+            blockY = location.getBlockY();
+            blockZ = location.getBlockZ();
+            locationUpdates++;
+        }
+
+        return playerProduct * locationProduct * evaluate(owner.getGains(GainScope.KILL), killGains, player);
+    }
+
+    public synchronized List<String> getBreakdown()
+    {
+        List<String> lines = new ArrayList<String>();
+
+        addBreakdown(lines, GainScope.PLAYER, playerGains);
+        addBreakdown(lines, GainScope.LOCATION, locationGains);
+        addBreakdown(lines, GainScope.KILL, killGains);
+        lines.add(String.format("Total: %.3f (%d lookups, %d player and %d location refreshes)", playerProduct * locationProduct * product(killGains),
+                lookups, playerUpdates, locationUpdates));
+
+        return lines;
+    }
+
+    private void addBreakdown(List<String> lines, GainScope scope, double[] values)
+    {
+        PlayerGain[] gains = owner.getGains(scope);
+
+        for (int i = 0; i < gains.length; i++) {
+            lines.add(String.format("%s (%s): %.3f", gains[i].getClass().getSimpleName(), scope.name().toLowerCase(), values[i]));
+        }
+    }
+
+    private static double evaluate(PlayerGain[] gains, double[] values, Player player)
+    {
+        double multiplier = NO_GAIN;
+
+        for (int i = 0; i < gains.length; i++) {
+            values[i] = gains[i].hasPermission(player) ? gains[i].getGain(player) : NO_GAIN;
+            multiplier *= values[i];
+        }
+
+        return multiplier;
+    }
+
+    private static double product(double[] values)
+    {
+        double multiplier = NO_GAIN;
+
+        for (double value : values) {
+            multiplier *= value;
+        }
+
+        return multiplier;
+    }
+}
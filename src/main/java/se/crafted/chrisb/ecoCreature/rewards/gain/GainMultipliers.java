@@ -0,0 +1,105 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.rewards.gain;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.entity.Player;
+
+public class GainMultipliers
+{
+    public static final long DEFAULT_CACHE_TIME = TimeUnit.SECONDS.toMillis(10);
+
+    private static final PlayerGain[] NO_GAINS = new PlayerGain[0];
+
+    private final Map<GainScope, PlayerGain[]> gains;
+    private final ConcurrentMap<String, GainContext> contexts;
+    private final long cacheTime;
+
+    public GainMultipliers(Set<PlayerGain> gainMultipliers, long cacheTime)
+    {
+        gains = new EnumMap<GainScope, PlayerGain[]>(GainScope.class);
+        contexts = new ConcurrentHashMap<String, GainContext>();
+        this.cacheTime = cacheTime;
+
+        for (GainScope scope : GainScope.values()) {
+            List<PlayerGain> scoped = new ArrayList<PlayerGain>();
+            for (PlayerGain gain : gainMultipliers) {
+                if (gain.getScope() == scope) {
+                    scoped.add(gain);
+                }
+            }
+            gains.put(scope, scoped.toArray(NO_GAINS));
+        }
+    }
+
+    public static GainMultipliers empty()
+    {
+        return new GainMultipliers(Collections.<PlayerGain>emptySet(), DEFAULT_CACHE_TIME);
+    }
+
+    public double getGainMultiplier(Player player)
+    {
+        return getContext(player).getMultiplier(player, System.currentTimeMillis());
+    }
+
+    public GainContext getContext(Player player)
+    {
+        GainContext context = contexts.get(player.getName());
+
+        if (context == null) {
+            context = new GainContext(this);
+            GainContext existing = contexts.putIfAbsent(player.getName(), context);
+            if (existing != null) {
+                context = existing;
+            }
+        }
+
+        return context;
+    }
+
+    public void invalidate(String player)
+    {
+        contexts.remove(player);
+    }
+
+    public void invalidateAll()
+    {
+        contexts.clear();
+    }
+
+    PlayerGain[] getGains(GainScope scope)
+    {
+        return gains.get(scope);
+    }
+
+    long getCacheTime()
+    {
+        return cacheTime;
+    }
+}
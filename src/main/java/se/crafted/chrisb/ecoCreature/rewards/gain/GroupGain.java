@@ -61,6 +61,12 @@ public class GroupGain extends AbstractPlayerGain<String>
         return multiplier;
     }
 
+    @Override
+    public GainScope getScope()
+    {
+        return GainScope.PLAYER;
+    }
+
     public static Set<PlayerGain> parseConfig(ConfigurationSection config)
     {
         Set<PlayerGain> gain = Collections.emptySet();
@@ -48,6 +48,12 @@ public class HeroesGain extends AbstractPlayerGain<String>
         return DependencyUtils.getHeroes().getCharacterManager().getHero(player).hasParty() ? getMultiplier(AMOUNT_KEY) : NO_GAIN;
     }
 
+    @Override
+    public GainScope getScope()
+    {
+        return GainScope.PLAYER;
+    }
+
     public static Set<PlayerGain> parseConfig(ConfigurationSection config)
     {
         Set<PlayerGain> gain = Collections.emptySet();
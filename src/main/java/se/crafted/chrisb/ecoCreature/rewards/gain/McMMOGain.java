@@ -50,6 +50,12 @@ public class McMMOGain extends AbstractPlayerGain<String>
         return PartyAPI.inParty(player) ? getMultiplier(AMOUNT_KEY) : NO_GAIN;
     }
 
+    @Override
+    public GainScope getScope()
+    {
+        return GainScope.PLAYER;
+    }
+
     public static Set<PlayerGain> parseConfig(ConfigurationSection config)
     {
         Set<PlayerGain> gain = Collections.emptySet();
@@ -48,6 +48,12 @@ public class MobArenaGain extends AbstractPlayerGain<String>
         return DependencyUtils.getMobArenaHandler().isPlayerInArena(player) ? getMultiplier(AMOUNT_KEY) : NO_GAIN;
     }
 
+    @Override
+    public GainScope getScope()
+    {
+        return GainScope.PLAYER;
+    }
+
     public static Set<PlayerGain> parseConfig(ConfigurationSection config)
     {
         Set<PlayerGain> gain = Collections.emptySet();
@@ -26,4 +26,6 @@ public interface PlayerGain
     boolean hasPermission(Player player);
 
     double getGain(Player player);
+
+    GainScope getScope();
 }
@@ -62,6 +62,12 @@ public class RegionGain extends AbstractPlayerGain<String>
         return multiplier;
     }
 
+    @Override
+    public GainScope getScope()
+    {
+        return GainScope.LOCATION;
+    }
+
     public static Set<PlayerGain> parseConfig(ConfigurationSection config)
     {
         Set<PlayerGain> gain = Collections.emptySet();
@@ -51,6 +51,12 @@ public class RegiosGain extends AbstractPlayerGain<String>
         return region != null ? getMultiplier(region.getName()) : NO_GAIN;
     }
 
+    @Override
+    public GainScope getScope()
+    {
+        return GainScope.LOCATION;
+    }
+
     public static Set<PlayerGain> parseConfig(ConfigurationSection config)
     {
         Set<PlayerGain> gain = Collections.emptySet();
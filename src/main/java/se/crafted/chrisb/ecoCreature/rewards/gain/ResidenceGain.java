@@ -52,6 +52,12 @@ public class ResidenceGain extends AbstractPlayerGain<String>
         return residence != null ? getMultiplier(residence.getName()) : NO_GAIN;
     }
 
+    @Override
+    public GainScope getScope()
+    {
+        return GainScope.LOCATION;
+    }
+
     public static Set<PlayerGain> parseConfig(ConfigurationSection config)
     {
         Set<PlayerGain> gain = Collections.emptySet();
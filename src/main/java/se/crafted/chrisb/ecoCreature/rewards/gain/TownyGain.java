@@ -50,6 +50,12 @@ public class TownyGain extends AbstractPlayerGain<String>
         return getMultiplier(TownyUniverse.getTownName(player.getLocation()));
     }
 
+    @Override
+    public GainScope getScope()
+    {
+        return GainScope.LOCATION;
+    }
+
     public static Set<PlayerGain> parseConfig(ConfigurationSection config)
     {
         Set<PlayerGain> gain = Collections.emptySet();
@@ -20,7 +20,6 @@
 package se.crafted.chrisb.ecoCreature.rewards.models;
 
 import java.util.Collections;
-import java.util.Random;
 import java.util.Set;
 
 import org.apache.commons.lang.math.NumberRange;
@@ -28,6 +27,8 @@ import org.bukkit.Material;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.material.MaterialData;
 
+import se.crafted.chrisb.ecoCreature.commons.RewardRandom;
+
 public abstract class AbstractItemDrop
 {
     private final Material material;
@@ -36,7 +37,6 @@ public abstract class AbstractItemDrop
     private NumberRange range;
     private double percentage;
     private Set<ItemEnchantment> enchantments;
-    private final Random random = new Random();
 
     public AbstractItemDrop(Material material)
     {
@@ -101,6 +101,8 @@ public abstract class AbstractItemDrop
 
     public ItemStack getOutcome(boolean isFixedDrops)
     {
+        RewardRandom random = RewardRandom.current();
+
         if (random.nextDouble() * 100.0D < percentage && material != null) {
             int dropAmount = isFixedDrops ? range.getMaximumInteger() : range.getMinimumInteger()
                     + random.nextInt(Math.abs(range.getMaximumInteger() - range.getMinimumInteger() + 1));
@@ -98,16 +98,18 @@ public class BookDrop extends ItemDrop
             for (Object obj : config.getList("Drops")) {
                 if (obj instanceof LinkedHashMap) {
                     ConfigurationSection itemConfig = createItemConfig(obj);
-                    Material material = parseMaterial(itemConfig.getString("item"));
+                    DropSpec spec = parseSpec(itemConfig.getString("item"));
+                    Material material = parseMaterial(spec);
 
                     if (material == Material.WRITTEN_BOOK) {
                         BookDrop drop = new BookDrop(material);
                         drop.setTitle(itemConfig.getString("title"));
                         drop.setAuthor(itemConfig.getString("author"));
                         drop.setPages(itemConfig.getStringList("pages"));
-                        populateItemDrop(drop, itemConfig.getString("item"));
 
-                        drops.add(drop);
+                        if (populateItemDrop(drop, spec) != null) {
+                            drops.add(drop);
+                        }
                     }
                 }
             }
@@ -22,6 +22,8 @@ package se.crafted.chrisb.ecoCreature.rewards.models;
 import org.apache.commons.lang.math.NumberRange;
 import org.bukkit.configuration.ConfigurationSection;
 
+import se.crafted.chrisb.ecoCreature.commons.RewardRandom;
+
 public class CoinDrop
 {
     private NumberRange range;
@@ -54,7 +56,7 @@ public class CoinDrop
     {
         double amount;
 
-        if (Math.random() > percentage / 100.0D) {
+        if (RewardRandom.current().nextDouble() > percentage / 100.0D) {
             amount = 0.0D;
         }
         else {
@@ -65,7 +67,7 @@ public class CoinDrop
                 amount = range.getMinimumDouble();
             }
             else {
-                amount = range.getMinimumDouble() + Math.random() * (range.getMaximumDouble() - range.getMinimumDouble());
+                amount = RewardRandom.current().nextDouble(range.getMinimumDouble(), range.getMaximumDouble());
             }
         }
 
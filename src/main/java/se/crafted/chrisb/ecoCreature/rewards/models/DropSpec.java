@@ -0,0 +1,297 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.rewards.models;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.lang.math.NumberRange;
+
+/**
+ * A parsed drop entry of the form
+ * <code>name[.data[.durability]][,enchantment[.level[-level]]]...:amount[-amount]:percentage</code>.
+ * The entry is read in a single pass; errors report the 1-based column.
+ */
+public final class DropSpec
+{
+    private final String spec;
+    private final String name;
+    private final Byte data;
+    private final Short durability;
+    private final List<EnchantmentSpec> enchantments;
+    private final NumberRange range;
+    private final double percentage;
+
+    private DropSpec(Parser parser)
+    {
+        spec = parser.spec;
+        name = parser.name;
+        data = parser.data;
+        durability = parser.durability;
+        enchantments = parser.enchantments;
+        range = parser.range;
+        percentage = parser.percentage;
+    }
+
+    public String getSpec()
+    {
+        return spec;
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    public Byte getData()
+    {
+        return data;
+    }
+
+    public Short getDurability()
+    {
+        return durability;
+    }
+
+    public List<EnchantmentSpec> getEnchantments()
+    {
+        return enchantments;
+    }
+
+    public NumberRange getRange()
+    {
+        return range;
+    }
+
+    public double getPercentage()
+    {
+        return percentage;
+    }
+
+    public static DropSpec parse(String spec)
+    {
+        if (spec == null) {
+            throw new DropSpecException("", 1, "Missing drop");
+        }
+
+        return new DropSpec(new Parser(spec).parse());
+    }
+
+    public static final class EnchantmentSpec
+    {
+        private final String name;
+        private final int column;
+        private final NumberRange levelRange;
+
+        private EnchantmentSpec(String name, int column, NumberRange levelRange)
+        {
+            this.name = name;
+            this.column = column;
+            this.levelRange = levelRange;
+        }
+
+        public String getName()
+        {
+            return name;
+        }
+
+        public int getColumn()
+        {
+            return column;
+        }
+
+        public NumberRange getLevelRange()
+        {
+            return levelRange;
+        }
+    }
+
+    private static final class Parser
+    {
+        private final String spec;
+        private final int end;
+        private int pos;
+
+        private String name;
+        private Byte data;
+        private Short durability;
+        private List<EnchantmentSpec> enchantments = Collections.emptyList();
+        private NumberRange range;
+        private double percentage;
+
+        private Parser(String spec)
+        {
+            this.spec = spec;
+            end = spec.length();
+        }
+
+        private Parser parse()
+        {
+            skipWhitespace();
+
+            name = readName("item name");
+            if (accept('.')) {
+                data = (byte) readInt("data value", Byte.MAX_VALUE);
+                if (accept('.')) {
+                    durability = (short) readInt("durability", Short.MAX_VALUE);
+                }
+            }
+
+            while (accept(',')) {
+                if (enchantments.isEmpty()) {
+                    enchantments = new ArrayList<EnchantmentSpec>();
+                }
+                enchantments.add(readEnchantment());
+            }
+
+            expect(':');
+            int min = readInt("amount", Integer.MAX_VALUE);
+            if (accept('-')) {
+                range = new NumberRange(min, readInt("amount", Integer.MAX_VALUE));
+            }
+            else {
+                range = new NumberRange(0, min);
+            }
+
+            expect(':');
+            percentage = readDouble("percentage");
+
+            skipWhitespace();
+            if (pos < end) {
+                throw error("Unexpected '" + spec.charAt(pos) + "'");
+            }
+
+            return this;
+        }
+
+        private EnchantmentSpec readEnchantment()
+        {
+            int column = pos + 1;
+            String enchantment = readName("enchantment");
+            int minLevel = 1;
+            int maxLevel = 1;
+
+            if (accept('.')) {
+                minLevel = readInt("enchantment level", Integer.MAX_VALUE);
+                maxLevel = accept('-') ? readInt("enchantment level", Integer.MAX_VALUE) : minLevel;
+            }
+
+            return new EnchantmentSpec(enchantment, column, new NumberRange(minLevel, maxLevel));
+        }
+
+        private String readName(String what)
+        {
+            int start = pos;
+
+            while (pos < end && !isDelimiter(spec.charAt(pos))) {
+                pos++;
+            }
+
+            String value = spec.substring(start, pos).trim();
+            if (value.isEmpty()) {
+                pos = start;
+                throw error("Expected " + what);
+            }
+
+            return value;
+        }
+
+        private int readInt(String what, int max)
+        {
+            int start = pos;
+            long value = 0L;
+
+            while (pos < end && isDigit(spec.charAt(pos))) {
+                value = value * 10L + (spec.charAt(pos) - '0');
+                if (value > max) {
+                    pos = start;
+                    throw error(what + " is larger than " + max);
+                }
+                pos++;
+            }
+
+            if (pos == start) {
+                throw error("Expected " + what);
+            }
+
+            return (int) value;
+        }
+
+        private double readDouble(String what)
+        {
+            int start = pos;
+
+            while (pos < end && (isDigit(spec.charAt(pos)) || spec.charAt(pos) == '.')) {
+                pos++;
+            }
+
+            if (pos == start) {
+                throw error("Expected " + what);
+            }
+
+            try {
+                return Double.parseDouble(spec.substring(start, pos));
+            }
+            catch (NumberFormatException e) {
+                pos = start;
+                throw error("Malformed " + what);
+            }
+        }
+
+        private boolean accept(char c)
+        {
+            if (pos < end && spec.charAt(pos) == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char c)
+        {
+            if (!accept(c)) {
+                throw error(pos < end ? "Expected '" + c + "' but found '" + spec.charAt(pos) + "'" : "Expected '" + c + "'");
+            }
+        }
+
+        private void skipWhitespace()
+        {
+            while (pos < end && Character.isWhitespace(spec.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private DropSpecException error(String message)
+        {
+            return new DropSpecException(spec, pos + 1, message);
+        }
+
+        private static boolean isDelimiter(char c)
+        {
+            return c == '.' || c == ',' || c == ':';
+        }
+
+        private static boolean isDigit(char c)
+        {
+            return c >= '0' && c <= '9';
+        }
+    }
+}
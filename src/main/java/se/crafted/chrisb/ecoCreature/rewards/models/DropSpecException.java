@@ -0,0 +1,45 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.rewards.models;
+
+public class DropSpecException extends IllegalArgumentException
+{
+    private static final long serialVersionUID = 1L;
+
+    private final String spec;
+    private final int column;
+
+    public DropSpecException(String spec, int column, String message)
+    {
+        super(String.format("%s at column %d in drop \"%s\"", message, column, spec));
+        this.spec = spec;
+        this.column = column;
+    }
+
+    public String getSpec()
+    {
+        return spec;
+    }
+
+    public int getColumn()
+    {
+        return column;
+    }
+}
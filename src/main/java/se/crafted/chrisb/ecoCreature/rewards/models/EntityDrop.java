@@ -23,19 +23,18 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Random;
 
 import org.apache.commons.lang.math.NumberRange;
 import org.bukkit.Material;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.EntityType;
 
+import se.crafted.chrisb.ecoCreature.commons.DebugCategory;
 import se.crafted.chrisb.ecoCreature.commons.LoggerUtil;
+import se.crafted.chrisb.ecoCreature.commons.RewardRandom;
 
 public class EntityDrop
 {
-    private static Random random = new Random();
-
     private final EntityType type;
     private NumberRange range;
     private double percentage;
@@ -84,6 +83,7 @@ public class EntityDrop
     private int nextAmount()
     {
         int amount;
+        RewardRandom random = RewardRandom.current();
 
         if (random.nextDouble() > percentage / 100.0D) {
             amount = 0;
@@ -154,15 +154,16 @@ public class EntityDrop
 
     private static List<EntityDrop> parseDrops(List<String> dropsList)
     {
-        List<EntityDrop> drops = Collections.emptyList();
+        List<EntityDrop> drops = new ArrayList<EntityDrop>();
 
         for (String dropString : dropsList) {
-            EntityType type = parseType(dropString);
+            DropSpec spec = parseSpec(dropString);
+            EntityType type = parseType(spec);
+
             if (type != null && !isAmbiguous(type)) {
                 EntityDrop drop = new EntityDrop(type);
-                drop.setRange(parseRange(dropString));
-                drop.setPercentage(parsePercentage(dropString));
-                drops = new ArrayList<EntityDrop>();
+                drop.setRange(spec.getRange());
+                drop.setPercentage(spec.getPercentage());
                 drops.add(drop);
             }
         }
@@ -175,43 +176,30 @@ public class EntityDrop
         return Material.matchMaterial(type.getName()) != null;
     }
 
-    private static EntityType parseType(String dropString)
+    private static DropSpec parseSpec(String dropString)
     {
-        String[] dropParts = dropString.split(":");
-        String[] itemParts = dropParts[0].split(",");
-        String[] itemSubParts = itemParts[0].split("\\.");
-
-        EntityType type = EntityType.fromName(itemSubParts[0]);
-        if (type == null) {
-            LoggerUtil.getInstance().debug("No match for type: " + itemParts[0]);
+        try {
+            return DropSpec.parse(dropString);
+        }
+        catch (DropSpecException e) {
+            // NOTE: malformed drops are reported by ItemDrop, which parses the same list
+            LoggerUtil.getInstance().debug(DebugCategory.CONFIG, e.getMessage());
         }
 
-        return type;
+        return null;
     }
 
-    private static NumberRange parseRange(String dropString)
+    private static EntityType parseType(DropSpec spec)
     {
-        String[] dropParts = dropString.split(":");
-        String[] amountRange = dropParts[1].split("-");
-
-        int min = 0;
-        int max = 0;
-
-        if (amountRange.length == 2) {
-            min = Integer.parseInt(amountRange[0]);
-            max = Integer.parseInt(amountRange[1]);
+        if (spec == null) {
+            return null;
         }
-        else {
-            max = Integer.parseInt(dropParts[1]);
-        }
-
-        return new NumberRange(min, max);
-    }
 
-    private static double parsePercentage(String dropString)
-    {
-        String[] dropParts = dropString.split(":");
+        EntityType type = EntityType.fromName(spec.getName());
+        if (type == null) {
+            LoggerUtil.getInstance().debug(DebugCategory.CONFIG, "No match for type: %s", spec.getName());
+        }
 
-        return Double.parseDouble(dropParts[2]);
+        return type;
     }
 }
@@ -26,11 +26,11 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
-import org.apache.commons.lang.math.NumberRange;
 import org.bukkit.Material;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.enchantments.Enchantment;
 
+import se.crafted.chrisb.ecoCreature.commons.DebugCategory;
 import se.crafted.chrisb.ecoCreature.commons.LoggerUtil;
 
 public class ItemDrop extends AbstractItemDrop
@@ -86,120 +86,83 @@ public class ItemDrop extends AbstractItemDrop
     protected static List<AbstractItemDrop> parseItem(String dropString)
     {
         List<AbstractItemDrop> drops = Collections.emptyList();
-
-        if (parseMaterial(dropString) != null) {
-            drops = new ArrayList<AbstractItemDrop>();
-            drops.add(populateItemDrop(new ItemDrop(parseMaterial(dropString)), dropString));
+        DropSpec spec = parseSpec(dropString);
+        Material material = parseMaterial(spec);
+
+        if (material != null) {
+            AbstractItemDrop drop = populateItemDrop(new ItemDrop(material), spec);
+            if (drop != null) {
+                drops = new ArrayList<AbstractItemDrop>();
+                drops.add(drop);
+            }
         }
 
         return drops;
     }
 
-    protected static AbstractItemDrop populateItemDrop(AbstractItemDrop drop, String dropString)
+    protected static DropSpec parseSpec(String dropString)
+    {
+        try {
+            return DropSpec.parse(dropString);
+        }
+        catch (DropSpecException e) {
+            LoggerUtil.getInstance().warning(e.getMessage());
+        }
+
+        return null;
+    }
+
+    protected static AbstractItemDrop populateItemDrop(AbstractItemDrop drop, DropSpec spec)
     {
-        drop.setEnchantments(parseEnchantments(dropString));
-        drop.setData(parseData(dropString));
-        drop.setDurability(parseDurability(dropString));
-        drop.setRange(parseRange(dropString));
-        drop.setPercentage(parsePercentage(dropString));
+        try {
+            drop.setEnchantments(parseEnchantments(spec));
+        }
+        catch (DropSpecException e) {
+            LoggerUtil.getInstance().warning(e.getMessage());
+            return null;
+        }
+
+        drop.setData(spec.getData());
+        drop.setDurability(spec.getDurability());
+        drop.setRange(spec.getRange());
+        drop.setPercentage(spec.getPercentage());
 
         return drop;
     }
 
-    protected static Material parseMaterial(String dropString)
+    protected static Material parseMaterial(DropSpec spec)
     {
-        String[] dropParts = dropString.split(":");
-        String[] itemParts = dropParts[0].split(",");
-        String[] itemSubParts = itemParts[0].split("\\.");
+        if (spec == null) {
+            return null;
+        }
 
-        Material material = Material.matchMaterial(itemSubParts[0]);
+        Material material = Material.matchMaterial(spec.getName());
         if (material == null) {
-            LoggerUtil.getInstance().debug("No match for type: " + itemParts[0]);
+            LoggerUtil.getInstance().debug(DebugCategory.CONFIG, "No match for type: %s", spec.getName());
         }
 
         return material;
     }
 
-    private static Set<ItemEnchantment> parseEnchantments(String dropString)
+    private static Set<ItemEnchantment> parseEnchantments(DropSpec spec)
     {
         Set<ItemEnchantment> enchantments = Collections.emptySet();
-        String[] dropParts = dropString.split(":");
-        String[] itemParts = dropParts[0].split(",");
 
-        // check for enchantment
-        if (itemParts.length > 1) {
+        if (!spec.getEnchantments().isEmpty()) {
             enchantments = new HashSet<ItemEnchantment>();
 
-            for (int i = 1; i < itemParts.length; i++) {
-                String[] enchantParts = itemParts[i].split("\\.");
-                // check enchantment level and range
-                if (enchantParts.length > 1) {
-                    String[] levelRange = enchantParts[1].split("-");
-                    int minLevel = Integer.parseInt(levelRange[0]);
-                    int maxLevel = levelRange.length > 1 ? Integer.parseInt(levelRange[1]) : minLevel;
-                    enchantments.add(createEnchantment(enchantParts[0], minLevel, maxLevel));
-                }
-                else {
-                    enchantments.add(createEnchantment(enchantParts[0], 1, 1));
+            for (DropSpec.EnchantmentSpec enchantmentSpec : spec.getEnchantments()) {
+                Enchantment type = Enchantment.getByName(enchantmentSpec.getName().toUpperCase());
+                if (type == null) {
+                    throw new DropSpecException(spec.getSpec(), enchantmentSpec.getColumn(), "Unrecognized enchantment " + enchantmentSpec.getName());
                 }
+
+                ItemEnchantment enchantment = new ItemEnchantment(type);
+                enchantment.setLevelRange(enchantmentSpec.getLevelRange());
+                enchantments.add(enchantment);
             }
         }
 
         return enchantments;
     }
-
-    private static ItemEnchantment createEnchantment(String name, int minLevel, int maxLevel)
-    {
-        if (name == null || Enchantment.getByName(name.toUpperCase()) == null) {
-            throw new IllegalArgumentException("Unrecognized enchantment: " + name);
-        }
-        ItemEnchantment enchantment = new ItemEnchantment(Enchantment.getByName(name.toUpperCase()));
-        enchantment.setLevelRange(new NumberRange(minLevel, maxLevel));
-
-        return enchantment;
-    }
-
-    private static Byte parseData(String dropString)
-    {
-        String[] dropParts = dropString.split(":");
-        String[] itemParts = dropParts[0].split(",");
-        String[] itemSubParts = itemParts[0].split("\\.");
-
-        return itemSubParts.length > 1 ? Byte.parseByte(itemSubParts[1]) : null;
-    }
-
-    private static Short parseDurability(String dropString)
-    {
-        String[] dropParts = dropString.split(":");
-        String[] itemParts = dropParts[0].split(",");
-        String[] itemSubParts = itemParts[0].split("\\.");
-
-        return itemSubParts.length > 2 ? Short.parseShort(itemSubParts[2]) : null;
-    }
-
-    private static NumberRange parseRange(String dropString)
-    {
-        String[] dropParts = dropString.split(":");
-        String[] amountRange = dropParts[1].split("-");
-
-        int min = 0;
-        int max = 0;
-
-        if (amountRange.length == 2) {
-            min = Integer.parseInt(amountRange[0]);
-            max = Integer.parseInt(amountRange[1]);
-        }
-        else {
-            max = Integer.parseInt(dropParts[1]);
-        }
-
-        return new NumberRange(min, max);
-    }
-
-    private static double parsePercentage(String dropString)
-    {
-        String[] dropParts = dropString.split(":");
-
-        return Double.parseDouble(dropParts[2]);
-    }
 }
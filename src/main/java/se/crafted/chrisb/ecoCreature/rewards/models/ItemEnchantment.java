@@ -21,16 +21,15 @@ package se.crafted.chrisb.ecoCreature.rewards.models;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Random;
 import java.util.Set;
 
 import org.apache.commons.lang.math.NumberRange;
 import org.bukkit.enchantments.Enchantment;
 
+import se.crafted.chrisb.ecoCreature.commons.RewardRandom;
+
 public class ItemEnchantment
 {
-    private final Random random = new Random();
-
     private final Enchantment enchantment;
     private NumberRange levelRange;
 
@@ -56,7 +55,7 @@ public class ItemEnchantment
 
     public int getLevel()
     {
-        return levelRange.getMinimumInteger() + random.nextInt(Math.abs(levelRange.getMaximumInteger() - levelRange.getMinimumInteger() + 1));
+        return levelRange.getMinimumInteger() + RewardRandom.current().nextInt(Math.abs(levelRange.getMaximumInteger() - levelRange.getMinimumInteger() + 1));
     }
 
     public static Map<Enchantment, Integer> getOutcome(Set<ItemEnchantment> enchantments)
@@ -46,7 +46,7 @@ public abstract class AbstractParty implements Party
     }
 
     @Override
-    public Set<String> getMembers(Player player)
+    public Set<Player> getMembers(Player player)
     {
         return Collections.emptySet();
     }
@@ -26,6 +26,7 @@ import java.util.Set;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
 
+import se.crafted.chrisb.ecoCreature.commons.DebugCategory;
 import se.crafted.chrisb.ecoCreature.commons.DependencyUtils;
 import se.crafted.chrisb.ecoCreature.commons.LoggerUtil;
 
@@ -34,18 +35,22 @@ import com.herocraftonline.heroes.characters.Hero;
 public class HeroesParty extends AbstractParty
 {
     @Override
-    public Set<String> getMembers(Player player)
+    public Set<Player> getMembers(Player player)
     {
-        Set<String> party = Collections.emptySet();
+        Set<Player> party = Collections.emptySet();
 
-        if (DependencyUtils.hasHeroes() && DependencyUtils.getHeroes().getCharacterManager().getHero(player).hasParty()) {
-            party = new HashSet<String>();
+        if (DependencyUtils.hasHeroes()) {
+            Hero killer = DependencyUtils.getHeroes().getCharacterManager().getHero(player);
 
-            for (Hero hero : DependencyUtils.getHeroes().getCharacterManager().getHero(player).getParty().getMembers()) {
-                party.add(hero.getPlayer().getName());
+            if (killer.hasParty()) {
+                party = new HashSet<Player>();
+
+                for (Hero hero : killer.getParty().getMembers()) {
+                    party.add(hero.getPlayer());
+                }
             }
         }
-        LoggerUtil.getInstance().debug("Party size: " + party.size());
+        LoggerUtil.getInstance().debug(DebugCategory.PARTIES, "Party size: %d", party.size());
 
         return party;
     }
@@ -27,6 +27,7 @@ import java.util.Set;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
 
+import se.crafted.chrisb.ecoCreature.commons.DebugCategory;
 import se.crafted.chrisb.ecoCreature.commons.DependencyUtils;
 import se.crafted.chrisb.ecoCreature.commons.LoggerUtil;
 
@@ -35,21 +36,17 @@ import com.gmail.nossr50.api.PartyAPI;
 public class McMMOParty extends AbstractParty
 {
     @Override
-    public Set<String> getMembers(Player player)
+    public Set<Player> getMembers(Player player)
     {
-        Set<String> party = Collections.emptySet();
+        Set<Player> party = Collections.emptySet();
 
         if (DependencyUtils.hasMcMMO() && PartyAPI.inParty(player)) {
             List<Player> members = PartyAPI.getOnlineMembers(player);
             if (members != null) {
-                party = new HashSet<String>();
-
-                for (Player member : members) {
-                    party.add(member.getName());
-                }
+                party = new HashSet<Player>(members);
             }
         }
-        LoggerUtil.getInstance().debug("Party size: " + party.size());
+        LoggerUtil.getInstance().debug(DebugCategory.PARTIES, "Party size: %d", party.size());
 
         return party;
     }
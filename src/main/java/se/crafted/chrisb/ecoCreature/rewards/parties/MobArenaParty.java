@@ -26,24 +26,21 @@ import java.util.Set;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
 
+import se.crafted.chrisb.ecoCreature.commons.DebugCategory;
 import se.crafted.chrisb.ecoCreature.commons.DependencyUtils;
 import se.crafted.chrisb.ecoCreature.commons.LoggerUtil;
 
 public class MobArenaParty extends AbstractParty
 {
     @Override
-    public Set<String> getMembers(Player player)
+    public Set<Player> getMembers(Player player)
     {
-        Set<String> party = Collections.emptySet();
+        Set<Player> party = Collections.emptySet();
 
         if (DependencyUtils.hasMobArena() && DependencyUtils.getMobArenaHandler().isPlayerInArena(player)) {
-            party = new HashSet<String>();
-
-            for (Player member : DependencyUtils.getMobArenaHandler().getArenaWithPlayer(player).getAllPlayers()) {
-                party.add(member.getName());
-            }
+            party = new HashSet<Player>(DependencyUtils.getMobArenaHandler().getArenaWithPlayer(player).getAllPlayers());
         }
-        LoggerUtil.getInstance().debug("Party size: " + party.size());
+        LoggerUtil.getInstance().debug(DebugCategory.PARTIES, "Party size: %d", party.size());
 
         return party;
     }
@@ -29,5 +29,5 @@ public interface Party
 
     void setShared(boolean shared);
 
-    Set<String> getMembers(Player player);
+    Set<Player> getMembers(Player player);
 }
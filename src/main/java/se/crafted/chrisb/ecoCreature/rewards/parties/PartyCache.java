@@ -0,0 +1,143 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.rewards.parties;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bukkit.entity.Player;
+
+public class PartyCache
+{
+    public static final long DEFAULT_CACHE_TIME = TimeUnit.SECONDS.toMillis(30);
+
+    private static final Party[] NO_PARTIES = new Party[0];
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+
+    private final Party[] shared;
+    private final ConcurrentMap<String, PartySnapshot> snapshots;
+    private final long cacheTime;
+
+    public PartyCache(Set<Party> parties, long cacheTime)
+    {
+        List<Party> sharedParties = new ArrayList<Party>();
+        for (Party party : parties) {
+            if (party.isShared()) {
+                sharedParties.add(party);
+            }
+        }
+
+        shared = sharedParties.toArray(NO_PARTIES);
+        snapshots = new ConcurrentHashMap<String, PartySnapshot>();
+        this.cacheTime = cacheTime;
+    }
+
+    public static PartyCache empty()
+    {
+        return new PartyCache(Collections.<Party>emptySet(), DEFAULT_CACHE_TIME);
+    }
+
+    public Set<Player> getMembers(Player player)
+    {
+        if (shared.length == 0) {
+            return Collections.emptySet();
+        }
+
+        if (cacheTime <= 0) {
+            MISSES.incrementAndGet();
+            return collectMembers(player);
+        }
+
+        long now = System.currentTimeMillis();
+        PartySnapshot snapshot = snapshots.get(player.getName());
+
+        if (snapshot != null && !snapshot.isExpired(now)) {
+            HITS.incrementAndGet();
+            return snapshot.members;
+        }
+
+        MISSES.incrementAndGet();
+        snapshot = new PartySnapshot(collectMembers(player), now + cacheTime);
+        snapshots.put(player.getName(), snapshot);
+
+        return snapshot.members;
+    }
+
+    private Set<Player> collectMembers(Player player)
+    {
+        Set<Player> members = new HashSet<Player>();
+
+        for (Party party : shared) {
+            members.addAll(party.getMembers(player));
+        }
+
+        return members.isEmpty() ? Collections.<Player>emptySet() : Collections.unmodifiableSet(members);
+    }
+
+    public void invalidate(String player)
+    {
+        snapshots.remove(player);
+    }
+
+    public void invalidateAll()
+    {
+        snapshots.clear();
+    }
+
+    public int size()
+    {
+        return snapshots.size();
+    }
+
+    public static long getHits()
+    {
+        return HITS.get();
+    }
+
+    public static long getMisses()
+    {
+        return MISSES.get();
+    }
+
+    private static final class PartySnapshot
+    {
+        private final Set<Player> members;
+        private final long expires;
+
+        PartySnapshot(Set<Player> members, long expires)
+        {
+            this.members = members;
+            this.expires = expires;
+        }
+
+        boolean isExpired(long now)
+        {
+            return now >= expires;
+        }
+    }
+}
@@ -27,6 +27,7 @@ import mc.alk.arena.BattleArena;
 
 import org.bukkit.configuration.ConfigurationSection;
 
+import se.crafted.chrisb.ecoCreature.commons.DebugCategory;
 import se.crafted.chrisb.ecoCreature.commons.DependencyUtils;
 import se.crafted.chrisb.ecoCreature.commons.LoggerUtil;
 import se.crafted.chrisb.ecoCreature.events.EntityKilledEvent;
@@ -51,7 +52,7 @@ public class BattleArenaRule extends AbstractRule
         boolean ruleBroken = !battleArenaRewards && DependencyUtils.hasBattleArena() && BattleArena.inArena(event.getKiller());
 
         if (ruleBroken) {
-            LoggerUtil.getInstance().debug("No reward for " + event.getKiller().getName() + " in BattleArena.");
+            LoggerUtil.getInstance().debug(DebugCategory.RULES, "No reward for %s in BattleArena.", event.getKiller().getName());
         }
 
         return ruleBroken;
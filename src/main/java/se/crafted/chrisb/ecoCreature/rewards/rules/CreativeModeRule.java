@@ -26,6 +26,7 @@ import java.util.Set;
 import org.bukkit.GameMode;
 import org.bukkit.configuration.ConfigurationSection;
 
+import se.crafted.chrisb.ecoCreature.commons.DebugCategory;
 import se.crafted.chrisb.ecoCreature.commons.LoggerUtil;
 import se.crafted.chrisb.ecoCreature.events.EntityKilledEvent;
 
@@ -49,7 +50,7 @@ public class CreativeModeRule extends AbstractRule
         boolean ruleBroken = !creativeModeRewards && event.getKiller().getGameMode() == GameMode.CREATIVE;
 
         if (ruleBroken) {
-            LoggerUtil.getInstance().debug("No reward for " + event.getKiller().getName() + " in creative mode.");
+            LoggerUtil.getInstance().debug(DebugCategory.RULES, "No reward for %s in creative mode.", event.getKiller().getName());
         }
 
         return ruleBroken;
@@ -25,6 +25,7 @@ import java.util.Set;
 
 import org.bukkit.configuration.ConfigurationSection;
 
+import se.crafted.chrisb.ecoCreature.commons.DebugCategory;
 import se.crafted.chrisb.ecoCreature.commons.DependencyUtils;
 import se.crafted.chrisb.ecoCreature.commons.LoggerUtil;
 import se.crafted.chrisb.ecoCreature.events.EntityKilledEvent;
@@ -49,7 +50,7 @@ public class MobArenaRule extends AbstractRule
         boolean ruleBroken = !mobArenaRewards && DependencyUtils.hasMobArena() && DependencyUtils.getMobArenaHandler().isPlayerInArena(event.getKiller());
 
         if (ruleBroken) {
-            LoggerUtil.getInstance().debug("No reward for " + event.getKiller().getName() + " in Mob Arena.");
+            LoggerUtil.getInstance().debug(DebugCategory.RULES, "No reward for %s in Mob Arena.", event.getKiller().getName());
         }
 
         return ruleBroken;
@@ -25,6 +25,7 @@ import java.util.Set;
 
 import org.bukkit.configuration.ConfigurationSection;
 
+import se.crafted.chrisb.ecoCreature.commons.DebugCategory;
 import se.crafted.chrisb.ecoCreature.commons.LoggerUtil;
 import se.crafted.chrisb.ecoCreature.commons.EntityUtils;
 import se.crafted.chrisb.ecoCreature.events.EntityKilledEvent;
@@ -37,7 +38,7 @@ public class MurderedPetRule extends AbstractRule
         boolean ruleBroken = EntityUtils.isOwner(event.getKiller(), event.getEntity());
 
         if (ruleBroken) {
-            LoggerUtil.getInstance().debug("No reward for " + event.getKiller().getName() + " murdering pets.");
+            LoggerUtil.getInstance().debug(DebugCategory.RULES, "No reward for %s murdering pets.", event.getKiller().getName());
         }
 
         return ruleBroken;
@@ -25,6 +25,7 @@ import java.util.Set;
 
 import org.bukkit.configuration.ConfigurationSection;
 
+import se.crafted.chrisb.ecoCreature.commons.DebugCategory;
 import se.crafted.chrisb.ecoCreature.commons.LoggerUtil;
 import se.crafted.chrisb.ecoCreature.events.EntityKilledEvent;
 import se.crafted.chrisb.ecoCreature.messages.DefaultMessage;
@@ -51,7 +52,7 @@ public class ProjectileRule extends AbstractRule
         boolean ruleBroken = !bowRewards && event.isProjectileKill();
 
         if (ruleBroken) {
-            LoggerUtil.getInstance().debug("No reward for " + event.getKiller().getName() + " using projectiles.");
+            LoggerUtil.getInstance().debug(DebugCategory.RULES, "No reward for %s using projectiles.", event.getKiller().getName());
         }
 
         return ruleBroken;
@@ -25,8 +25,8 @@ import java.util.Set;
 
 import org.bukkit.configuration.ConfigurationSection;
 
+import se.crafted.chrisb.ecoCreature.commons.DebugCategory;
 import se.crafted.chrisb.ecoCreature.commons.LoggerUtil;
-import se.crafted.chrisb.ecoCreature.commons.EntityUtils;
 import se.crafted.chrisb.ecoCreature.events.EntityKilledEvent;
 import se.crafted.chrisb.ecoCreature.messages.DefaultMessage;
 import se.crafted.chrisb.ecoCreature.settings.SpawnerMobTracking;
@@ -65,11 +65,10 @@ public class SpawnerDistanceRule extends AbstractRule
     @Override
     public boolean isBroken(EntityKilledEvent event)
     {
-        SpawnerMobTracking tracking = event.getSpawnerMobTracking();
-        boolean ruleBroken = !canCampSpawner && campByDistance && tracking.isSpawnerMob(event.getEntity()) && isEntityKilledEventNearSpawner(event);
+        boolean ruleBroken = !canCampSpawner && campByDistance && isEntityKilledEventNearSpawner(event);
 
         if (ruleBroken) {
-            LoggerUtil.getInstance().debug("No reward for " + event.getKiller().getName() + " spawner camping.");
+            LoggerUtil.getInstance().debug(DebugCategory.RULES, "No reward for %s spawner camping.", event.getKiller().getName());
         }
 
         return ruleBroken;
@@ -77,7 +76,9 @@ public class SpawnerDistanceRule extends AbstractRule
 
     private boolean isEntityKilledEventNearSpawner(EntityKilledEvent event)
     {
-        return EntityUtils.isNearSpawner(event.getKiller(), campRadius) || EntityUtils.isNearSpawner(event.getEntity(), campRadius);
+        SpawnerMobTracking tracking = event.getSpawnerMobTracking();
+        return tracking.isSpawnerMob(event.getEntity())
+                && (tracking.isNearSpawner(event.getEntity().getLocation(), campRadius) || tracking.isNearSpawner(event.getKiller().getLocation(), campRadius));
     }
 
     public static Set<Rule> parseConfig(ConfigurationSection config)
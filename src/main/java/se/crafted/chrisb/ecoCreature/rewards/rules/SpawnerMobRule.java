@@ -25,6 +25,7 @@ import java.util.Set;
 
 import org.bukkit.configuration.ConfigurationSection;
 
+import se.crafted.chrisb.ecoCreature.commons.DebugCategory;
 import se.crafted.chrisb.ecoCreature.commons.LoggerUtil;
 import se.crafted.chrisb.ecoCreature.events.EntityKilledEvent;
 import se.crafted.chrisb.ecoCreature.messages.DefaultMessage;
@@ -62,7 +63,7 @@ public class SpawnerMobRule extends AbstractRule
         boolean ruleBroken = !canCampSpawner && campByEntity && tracking.isSpawnerMob(event.getEntity());
 
         if (ruleBroken) {
-            LoggerUtil.getInstance().debug("No reward for " + event.getKiller().getName() + " spawner camping.");
+            LoggerUtil.getInstance().debug(DebugCategory.RULES, "No reward for %s spawner camping.", event.getKiller().getName());
         }
 
         return ruleBroken;
@@ -25,6 +25,7 @@ import java.util.Set;
 
 import org.bukkit.configuration.ConfigurationSection;
 
+import se.crafted.chrisb.ecoCreature.commons.DebugCategory;
 import se.crafted.chrisb.ecoCreature.commons.LoggerUtil;
 import se.crafted.chrisb.ecoCreature.events.EntityKilledEvent;
 
@@ -48,7 +49,7 @@ public class TamedCreatureRule extends AbstractRule
         boolean ruleBroken = !wolverineMode && event.isTamedCreatureKill();
 
         if (ruleBroken) {
-            LoggerUtil.getInstance().debug("No reward for " + event.getKiller().getName() + " using tamed creatures.");
+            LoggerUtil.getInstance().debug(DebugCategory.RULES, "No reward for %s using tamed creatures.", event.getKiller().getName());
         }
 
         return ruleBroken;
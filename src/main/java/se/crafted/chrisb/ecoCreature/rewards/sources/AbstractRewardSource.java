@@ -52,6 +52,7 @@ public abstract class AbstractRewardSource implements CoinReward, ItemReward, En
     private static final String COIN_PENALTY_MESSAGE = "&7You are penalized &6<amt>&7 for slaying a &5<crt>&7.";
 
     private String name;
+    private int permissionNode;
     private CoinDrop coin;
     private List<AbstractItemDrop> itemDrops;
     private List<EntityDrop> entityDrops;
@@ -65,6 +66,7 @@ public abstract class AbstractRewardSource implements CoinReward, ItemReward, En
 
     public AbstractRewardSource()
     {
+        updatePermissionNode();
     }
 
     public AbstractRewardSource(ConfigurationSection config)
@@ -73,6 +75,7 @@ public abstract class AbstractRewardSource implements CoinReward, ItemReward, En
             throw new IllegalArgumentException("Config cannot be null");
         }
         name = config.getName();
+        updatePermissionNode();
 
         itemDrops = new ArrayList<AbstractItemDrop>();
         itemDrops.addAll(ItemDrop.parseConfig(config));
@@ -93,11 +96,17 @@ public abstract class AbstractRewardSource implements CoinReward, ItemReward, En
     public void setName(String name)
     {
         this.name = name;
+        updatePermissionNode();
     }
 
     public boolean hasPermission(Player player)
     {
-        return DependencyUtils.hasPermission(player, "reward." + name);
+        return DependencyUtils.hasPermission(player, permissionNode);
+    }
+
+    private void updatePermissionNode()
+    {
+        permissionNode = DependencyUtils.getPermissionNode("reward." + name);
     }
 
     @Override
@@ -217,6 +226,7 @@ public abstract class AbstractRewardSource implements CoinReward, ItemReward, En
     public void merge(AbstractRewardSource source)
     {
         name = source.getName();
+        updatePermissionNode();
 
         itemDrops = source.hasItemDrops() ? source.getItemDrops() : itemDrops;
         entityDrops = source.hasEntityDrops() ? source.getEntityDrops() : entityDrops;
@@ -23,18 +23,14 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
 import java.util.Set;
 
 import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Player;
 import org.bukkit.event.Event;
 
-import se.crafted.chrisb.ecoCreature.commons.LoggerUtil;
-import se.crafted.chrisb.ecoCreature.events.EntityKilledEvent;
 import se.crafted.chrisb.ecoCreature.messages.CoinMessageDecorator;
 import se.crafted.chrisb.ecoCreature.messages.Message;
-import se.crafted.chrisb.ecoCreature.messages.MessageHandler;
-import se.crafted.chrisb.ecoCreature.messages.MessageToken;
 import se.crafted.chrisb.ecoCreature.messages.NoCoinMessageDecorator;
 import se.crafted.chrisb.ecoCreature.rewards.rules.BattleArenaRule;
 import se.crafted.chrisb.ecoCreature.rewards.rules.CreativeModeRule;
@@ -49,16 +45,16 @@ import se.crafted.chrisb.ecoCreature.rewards.rules.UnderSeaLevelRule;
 import se.crafted.chrisb.ecoCreature.rewards.sources.AbstractRewardSource;
 import se.crafted.chrisb.ecoCreature.settings.types.CustomRewardType;
 
-public abstract class AbstractRewardSettings<T>
+public abstract class AbstractRewardSettings<T extends Enum<T>>
 {
-    private Map<T, List<AbstractRewardSource>> sources;
+    private final Map<T, List<AbstractRewardSource>> sources;
+    private final Class<T> type;
     private Set<Rule> huntingRules;
 
-    private static Random random = new Random();
-
-    public AbstractRewardSettings(Map<T, List<AbstractRewardSource>> sources)
+    public AbstractRewardSettings(Map<T, List<AbstractRewardSource>> sources, Class<T> type)
     {
         this.sources = sources;
+        this.type = type;
         huntingRules = Collections.emptySet();
     }
 
@@ -67,55 +63,26 @@ public abstract class AbstractRewardSettings<T>
         return sources;
     }
 
-    public void setHuntingRules(Set<Rule> huntingRules)
+    public Class<T> getType()
     {
-        this.huntingRules = huntingRules;
+        return type;
     }
 
-    public abstract boolean hasRewardSource(Event event);
-
-    public abstract AbstractRewardSource getRewardSource(Event event);
-
-    protected boolean hasRewardSource(T type)
+    public Set<Rule> getHuntingRules()
     {
-        return type != null && getSources().containsKey(type) && !getSources().get(type).isEmpty();
+        return huntingRules;
     }
 
-    protected AbstractRewardSource getRewardSource(T type)
+    public void setHuntingRules(Set<Rule> huntingRules)
     {
-        AbstractRewardSource source = hasRewardSource(type) ? getSources().get(type).get(nextInt(getSources().get(type).size())) : null;
-
-        if (source == null) {
-            LoggerUtil.getInstance().debug("No reward defined for type: " + type);
-        }
-
-        return source;
+        this.huntingRules = Collections.unmodifiableSet(huntingRules);
     }
 
-    protected boolean isRuleBroken(EntityKilledEvent event)
-    {
-        for (Rule rule : huntingRules) {
-            if (rule.isBroken(event)) {
-                if (rule.isClearDrops()) {
-                    event.getDrops().clear();
-                    event.setDroppedExp(0);
-                }
-
-                Map<MessageToken, String> parameters = Collections.emptyMap();
-                MessageHandler message = new MessageHandler(rule.getMessage(), parameters);
-                message.send(event.getKiller());
+    public abstract List<Class<? extends Event>> getEventTypes();
 
-                return true;
-            }
-        }
+    protected abstract T getRewardType(Event event);
 
-        return false;
-    }
-
-    protected static int nextInt(int n)
-    {
-        return random.nextInt(n);
-    }
+    protected abstract Player getRewardPlayer(Event event);
 
     protected static AbstractRewardSource mergeSets(AbstractRewardSource source, ConfigurationSection rewardConfig, ConfigurationSection rewardSets)
     {
@@ -149,7 +116,7 @@ public abstract class AbstractRewardSettings<T>
         return source;
     }
 
-    private static Message configureMessage(Message message, ConfigurationSection config)
+    public static Message configureMessage(Message message, ConfigurationSection config)
     {
         if (message != null && config != null) {
             message.setMessageOutputEnabled(config.getBoolean("System.Messages.Output", true));
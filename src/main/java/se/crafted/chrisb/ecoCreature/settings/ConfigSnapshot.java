@@ -0,0 +1,325 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.settings;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+public final class ConfigSnapshot
+{
+    private static final int FILE_MAGIC = 0x65634353;
+    private static final int FILE_VERSION = 1;
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_SECTION = 1;
+    private static final byte TYPE_LIST = 2;
+    private static final byte TYPE_STRING = 3;
+    private static final byte TYPE_BOOLEAN = 4;
+    private static final byte TYPE_INTEGER = 5;
+    private static final byte TYPE_LONG = 6;
+    private static final byte TYPE_DOUBLE = 7;
+
+    private final Map<String, Map<String, Object>> configs;
+    private final long loadNanos;
+
+    public ConfigSnapshot(long loadNanos)
+    {
+        this.loadNanos = loadNanos;
+        configs = new LinkedHashMap<String, Map<String, Object>>();
+    }
+
+    public long getLoadNanos()
+    {
+        return loadNanos;
+    }
+
+    public void put(String name, ConfigurationSection config)
+    {
+        configs.put(name, toMap(config));
+    }
+
+    public FileConfiguration getConfig(String name)
+    {
+        Map<String, Object> values = configs.get(name);
+
+        if (values == null) {
+            return null;
+        }
+
+        YamlConfiguration config = new YamlConfiguration();
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            if (entry.getValue() instanceof Map) {
+                config.createSection(entry.getKey(), (Map<?, ?>) entry.getValue());
+            }
+            else {
+                config.set(entry.getKey(), entry.getValue());
+            }
+        }
+
+        return config;
+    }
+
+    Map<String, Object> getValues(String name)
+    {
+        return configs.get(name);
+    }
+
+    void putValues(String name, Map<String, Object> values)
+    {
+        configs.put(name, values);
+    }
+
+    public static byte[] hash(InputStream resource, List<File> files) throws IOException
+    {
+        MessageDigest digest;
+
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new IOException("SHA-1 is not available");
+        }
+
+        byte[] buffer = new byte[BUFFER_SIZE];
+        update(digest, resource, buffer);
+
+        for (File file : files) {
+            digest.update(file.getName().getBytes("UTF-8"));
+            InputStream in = new FileInputStream(file);
+            update(digest, in, buffer);
+        }
+
+        return digest.digest();
+    }
+
+    private static void update(MessageDigest digest, InputStream in, byte[] buffer) throws IOException
+    {
+        try {
+            int length;
+            while ((length = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, length);
+            }
+        }
+        finally {
+            in.close();
+        }
+    }
+
+    public static ConfigSnapshot read(File file, byte[] hash) throws IOException
+    {
+        if (!file.exists()) {
+            return null;
+        }
+
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        try {
+            if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_VERSION) {
+                return null;
+            }
+
+            byte[] fileHash = new byte[in.readInt()];
+            in.readFully(fileHash);
+            if (!Arrays.equals(hash, fileHash)) {
+                return null;
+            }
+
+            ConfigSnapshot snapshot = new ConfigSnapshot(in.readLong());
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String name = readString(in);
+                if (in.readByte() != TYPE_SECTION) {
+                    throw new IOException("Corrupt config snapshot " + file.getName());
+                }
+                snapshot.configs.put(name, readMap(in));
+            }
+
+            return snapshot;
+        }
+        finally {
+            in.close();
+        }
+    }
+
+    public void write(File file, byte[] hash) throws IOException
+    {
+        File tempFile = new File(file.getPath() + ".tmp");
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+        boolean written = false;
+        try {
+            out.writeInt(FILE_MAGIC);
+            out.writeInt(FILE_VERSION);
+            out.writeInt(hash.length);
+            out.write(hash);
+            out.writeLong(loadNanos);
+            out.writeInt(configs.size());
+            for (Map.Entry<String, Map<String, Object>> entry : configs.entrySet()) {
+                writeString(out, entry.getKey());
+                writeValue(out, entry.getValue());
+            }
+            written = true;
+        }
+        finally {
+            out.close();
+            if (!written) {
+                tempFile.delete();
+            }
+        }
+
+        if (!tempFile.renameTo(file) && !(file.delete() && tempFile.renameTo(file))) {
+            throw new IOException("Could not replace " + file.getName());
+        }
+    }
+
+    private static Map<String, Object> toMap(ConfigurationSection config)
+    {
+        Map<String, Object> values = new LinkedHashMap<String, Object>();
+
+        for (String key : config.getKeys(false)) {
+            Object value = config.get(key);
+            values.put(key, value instanceof ConfigurationSection ? toMap((ConfigurationSection) value) : value);
+        }
+
+        return values;
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException
+    {
+        if (value == null) {
+            out.writeByte(TYPE_NULL);
+        }
+        else if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            out.writeByte(TYPE_SECTION);
+            out.writeInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeString(out, String.valueOf(entry.getKey()));
+                writeValue(out, entry.getValue());
+            }
+        }
+        else if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            out.writeByte(TYPE_LIST);
+            out.writeInt(list.size());
+            for (Object element : list) {
+                writeValue(out, element);
+            }
+        }
+        else if (value instanceof String) {
+            out.writeByte(TYPE_STRING);
+            writeString(out, (String) value);
+        }
+        else if (value instanceof Boolean) {
+            out.writeByte(TYPE_BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        }
+        else if (value instanceof Integer) {
+            out.writeByte(TYPE_INTEGER);
+            out.writeInt((Integer) value);
+        }
+        else if (value instanceof Long) {
+            out.writeByte(TYPE_LONG);
+            out.writeLong((Long) value);
+        }
+        else if (value instanceof Double) {
+            out.writeByte(TYPE_DOUBLE);
+            out.writeDouble((Double) value);
+        }
+        else {
+            throw new IOException("Cannot store " + value.getClass().getName() + " in config snapshot");
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException
+    {
+        byte type = in.readByte();
+
+        switch (type) {
+            case TYPE_NULL:
+                return null;
+            case TYPE_SECTION:
+                return readMap(in);
+            case TYPE_LIST:
+                int size = in.readInt();
+                List<Object> list = new ArrayList<Object>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in));
+                }
+                return list;
+            case TYPE_STRING:
+                return readString(in);
+            case TYPE_BOOLEAN:
+                return in.readBoolean();
+            case TYPE_INTEGER:
+                return in.readInt();
+            case TYPE_LONG:
+                return in.readLong();
+            case TYPE_DOUBLE:
+                return in.readDouble();
+            default:
+                throw new IOException("Unknown config snapshot value type " + type);
+        }
+    }
+
+    private static Map<String, Object> readMap(DataInputStream in) throws IOException
+    {
+        int size = in.readInt();
+        Map<String, Object> map = new LinkedHashMap<String, Object>();
+
+        for (int i = 0; i < size; i++) {
+            String key = readString(in);
+            map.put(key, readValue(in));
+        }
+
+        return map;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException
+    {
+        byte[] bytes = value.getBytes("UTF-8");
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException
+    {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, "UTF-8");
+    }
+}
@@ -20,12 +20,13 @@
 package se.crafted.chrisb.ecoCreature.settings;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.bukkit.configuration.ConfigurationSection;
-import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
 import org.bukkit.event.Event;
 
 import se.crafted.chrisb.ecoCreature.events.EntityKilledEvent;
@@ -37,49 +38,33 @@ public class CustomEntityRewardSettings extends AbstractRewardSettings<CustomEnt
 {
     public CustomEntityRewardSettings(Map<CustomEntityRewardType, List<AbstractRewardSource>> sources)
     {
-        super(sources);
+        super(sources, CustomEntityRewardType.class);
     }
 
     @Override
-    public boolean hasRewardSource(Event event)
+    public List<Class<? extends Event>> getEventTypes()
     {
-        if (event instanceof PlayerKilledEvent) {
-            return hasRewardSource((PlayerKilledEvent) event);
-        }
-        else if (event instanceof EntityKilledEvent) {
-            return hasRewardSource((EntityKilledEvent) event);
-        }
-
-        return false;
+        return Arrays.<Class<? extends Event>>asList(PlayerKilledEvent.class, EntityKilledEvent.class);
     }
 
-    private boolean hasRewardSource(PlayerKilledEvent event)
+    @Override
+    protected CustomEntityRewardType getRewardType(Event event)
     {
-        return hasRewardSource(CustomEntityRewardType.PLAYER) && getRewardSource(CustomEntityRewardType.PLAYER).hasPermission(event.getKiller());
-    }
+        if (event instanceof PlayerKilledEvent) {
+            return CustomEntityRewardType.PLAYER;
+        }
 
-    private boolean hasRewardSource(EntityKilledEvent event)
-    {
-        CustomEntityRewardType type = CustomEntityRewardType.fromEntity(event.getEntity());
-        return hasRewardSource(type) && getRewardSource(type).hasPermission(event.getKiller()) && !isRuleBroken(event);
+        return CustomEntityRewardType.fromEntity(((EntityKilledEvent) event).getEntity());
     }
 
     @Override
-    public AbstractRewardSource getRewardSource(Event event)
+    protected Player getRewardPlayer(Event event)
     {
         if (event instanceof PlayerKilledEvent) {
-            return getRewardSource(((PlayerKilledEvent) event).getEntity());
-        }
-        else if (event instanceof EntityKilledEvent) {
-            return getRewardSource(((EntityKilledEvent) event).getEntity());
+            return ((PlayerKilledEvent) event).getKiller();
         }
 
-        return null;
-    }
-
-    private AbstractRewardSource getRewardSource(Entity entity)
-    {
-        return getRewardSource(CustomEntityRewardType.fromEntity(entity));
+        return ((EntityKilledEvent) event).getKiller();
     }
 
     public static AbstractRewardSettings<CustomEntityRewardType> parseConfig(ConfigurationSection config)
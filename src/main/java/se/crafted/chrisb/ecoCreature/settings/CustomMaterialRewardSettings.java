@@ -20,12 +20,14 @@
 package se.crafted.chrisb.ecoCreature.settings;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.bukkit.block.Block;
 import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Player;
 import org.bukkit.event.Event;
 import org.bukkit.event.block.BlockBreakEvent;
 
@@ -36,34 +38,26 @@ public class CustomMaterialRewardSettings extends AbstractRewardSettings<CustomM
 {
     public CustomMaterialRewardSettings(Map<CustomMaterialRewardType, List<AbstractRewardSource>> sources)
     {
-        super(sources);
+        super(sources, CustomMaterialRewardType.class);
     }
 
     @Override
-    public boolean hasRewardSource(Event event)
+    public List<Class<? extends Event>> getEventTypes()
     {
-        return event instanceof BlockBreakEvent && hasRewardSource((BlockBreakEvent) event);
-    }
-
-    private boolean hasRewardSource(BlockBreakEvent event)
-    {
-        CustomMaterialRewardType type = CustomMaterialRewardType.fromMaterial(event.getBlock().getType());
-        return hasRewardSource(type) && getRewardSource(type).hasPermission(event.getPlayer());
+        return Collections.<Class<? extends Event>>singletonList(BlockBreakEvent.class);
     }
 
     @Override
-    public AbstractRewardSource getRewardSource(Event event)
+    protected CustomMaterialRewardType getRewardType(Event event)
     {
-        if (event instanceof BlockBreakEvent) {
-            return getRewardSource(((BlockBreakEvent) event).getBlock());
-        }
-
-        return null;
+        Block block = ((BlockBreakEvent) event).getBlock();
+        return block != null ? CustomMaterialRewardType.fromMaterial(block.getType()) : null;
     }
 
-    private AbstractRewardSource getRewardSource(Block block)
+    @Override
+    protected Player getRewardPlayer(Event event)
     {
-        return getRewardSource(CustomMaterialRewardType.fromMaterial(block.getType()));
+        return ((BlockBreakEvent) event).getPlayer();
     }
 
     public static AbstractRewardSettings<CustomMaterialRewardType> parseConfig(ConfigurationSection config)
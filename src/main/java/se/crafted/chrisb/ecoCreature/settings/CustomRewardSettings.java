@@ -20,64 +20,52 @@
 package se.crafted.chrisb.ecoCreature.settings;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Player;
 import org.bukkit.event.Event;
 import org.bukkit.event.entity.PlayerDeathEvent;
 
 import se.crafted.chrisb.ecoCreature.commons.DependencyUtils;
 import se.crafted.chrisb.ecoCreature.events.PlayerKilledEvent;
-import se.crafted.chrisb.ecoCreature.rewards.sources.DeathPenaltySource;
 import se.crafted.chrisb.ecoCreature.rewards.sources.AbstractRewardSource;
-import se.crafted.chrisb.ecoCreature.rewards.sources.PVPRewardSource;
 import se.crafted.chrisb.ecoCreature.settings.types.CustomRewardType;
 
 public class CustomRewardSettings extends AbstractRewardSettings<CustomRewardType>
 {
     public CustomRewardSettings(Map<CustomRewardType, List<AbstractRewardSource>> sources)
     {
-        super(sources);
+        super(sources, CustomRewardType.class);
     }
 
     @Override
-    public boolean hasRewardSource(Event event)
+    public List<Class<? extends Event>> getEventTypes()
     {
-        if (event instanceof PlayerKilledEvent) {
-            return hasRewardSource((PlayerKilledEvent) event);
-        }
-        else if (event instanceof PlayerDeathEvent) {
-            return hasRewardSource((PlayerDeathEvent) event);
-        }
-
-        return false;
+        return Arrays.<Class<? extends Event>>asList(PlayerKilledEvent.class, PlayerDeathEvent.class);
     }
 
-    private boolean hasRewardSource(PlayerKilledEvent event)
+    @Override
+    protected CustomRewardType getRewardType(Event event)
     {
-        return DependencyUtils.hasEconomy() && getRewardSource(CustomRewardType.LEGACY_PVP) instanceof PVPRewardSource
-                && getRewardSource(CustomRewardType.LEGACY_PVP).hasPermission(event.getKiller());
-    }
+        if (event instanceof PlayerKilledEvent) {
+            return DependencyUtils.hasEconomy() ? CustomRewardType.LEGACY_PVP : null;
+        }
 
-    private boolean hasRewardSource(PlayerDeathEvent event)
-    {
-        return getRewardSource(CustomRewardType.DEATH_PENALTY) instanceof DeathPenaltySource
-                && getRewardSource(CustomRewardType.DEATH_PENALTY).hasPermission(event.getEntity());
+        return CustomRewardType.DEATH_PENALTY;
     }
 
     @Override
-    public AbstractRewardSource getRewardSource(Event event)
+    protected Player getRewardPlayer(Event event)
     {
         if (event instanceof PlayerKilledEvent) {
-            return getRewardSource(CustomRewardType.LEGACY_PVP);
-        }
-        else if (event instanceof PlayerDeathEvent) {
-            return getRewardSource(CustomRewardType.DEATH_PENALTY);
+            return ((PlayerKilledEvent) event).getKiller();
         }
 
-        return null;
+        return ((PlayerDeathEvent) event).getEntity();
     }
 
     public static AbstractRewardSettings<CustomRewardType> parseConfig(ConfigurationSection config)
@@ -20,13 +20,14 @@
 package se.crafted.chrisb.ecoCreature.settings;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.EntityType;
-import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
 import org.bukkit.event.Event;
 
 import se.crafted.chrisb.ecoCreature.events.EntityKilledEvent;
@@ -36,29 +37,25 @@ public class EntityRewardSettings extends AbstractRewardSettings<EntityType>
 {
     public EntityRewardSettings(Map<EntityType, List<AbstractRewardSource>> sources)
     {
-        super(sources);
+        super(sources, EntityType.class);
     }
 
     @Override
-    public boolean hasRewardSource(Event event)
+    public List<Class<? extends Event>> getEventTypes()
     {
-        return event instanceof EntityKilledEvent && hasRewardSource((EntityKilledEvent) event);
+        return Collections.<Class<? extends Event>>singletonList(EntityKilledEvent.class);
     }
 
-    private boolean hasRewardSource(EntityKilledEvent event)
+    @Override
+    protected EntityType getRewardType(Event event)
     {
-        LivingEntity entity = event.getEntity();
-        return hasRewardSource(entity.getType()) && getRewardSource(entity.getType()).hasPermission(event.getKiller()) && !isRuleBroken(event);
+        return ((EntityKilledEvent) event).getEntity().getType();
     }
 
     @Override
-    public AbstractRewardSource getRewardSource(Event event)
+    protected Player getRewardPlayer(Event event)
     {
-        if (event instanceof EntityKilledEvent) {
-            return getRewardSource(((EntityKilledEvent) event).getEntity().getType());
-        }
-
-        return null;
+        return ((EntityKilledEvent) event).getKiller();
     }
 
     public static AbstractRewardSettings<EntityType> parseConfig(ConfigurationSection config)
@@ -20,6 +20,7 @@
 package se.crafted.chrisb.ecoCreature.settings;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -38,45 +39,38 @@ public class HeroesRewardSettings extends AbstractRewardSettings<HeroesRewardTyp
 {
     public HeroesRewardSettings(Map<HeroesRewardType, List<AbstractRewardSource>> sources)
     {
-        super(sources);
+        super(sources, HeroesRewardType.class);
     }
 
     @Override
-    public boolean hasRewardSource(Event event)
+    public List<Class<? extends Event>> getEventTypes()
     {
-        return DependencyUtils.hasHeroes() && event instanceof HeroChangeLevelEvent &&
-        		hasRewardSource((HeroChangeLevelEvent) event);
+        if (DependencyUtils.hasHeroes()) {
+            return Collections.<Class<? extends Event>>singletonList(HeroChangeLevelEvent.class);
+        }
+
+        return Collections.emptyList();
     }
 
-    private boolean hasRewardSource(HeroChangeLevelEvent event)
+    @Override
+    protected HeroesRewardType getRewardType(Event event)
     {
-        Player player = event.getHero().getPlayer();
+        HeroChangeLevelEvent changeLevelEvent = (HeroChangeLevelEvent) event;
 
-        if (event.getHero().getLevel() == event.getHeroClass().getMaxLevel()) {
-            return hasRewardSource(HeroesRewardType.HERO_MASTERED) && getRewardSource(HeroesRewardType.HERO_MASTERED).hasPermission(player);
+        if (changeLevelEvent.getHero().getLevel() == changeLevelEvent.getHeroClass().getMaxLevel()) {
+            return HeroesRewardType.HERO_MASTERED;
         }
-        else if ((event.getTo() - event.getFrom()) > 0) {
-            return hasRewardSource(HeroesRewardType.HERO_LEVELED) && getRewardSource(HeroesRewardType.HERO_LEVELED).hasPermission(player);
+        else if ((changeLevelEvent.getTo() - changeLevelEvent.getFrom()) > 0) {
+            return HeroesRewardType.HERO_LEVELED;
         }
 
-        return false;
+        return null;
     }
 
     @Override
-    public AbstractRewardSource getRewardSource(Event event)
+    protected Player getRewardPlayer(Event event)
     {
-        if (DependencyUtils.hasHeroes() && event instanceof HeroChangeLevelEvent) {
-            HeroChangeLevelEvent changeLevelEvent = (HeroChangeLevelEvent) event;
-
-            if (changeLevelEvent.getHero().getLevel() == changeLevelEvent.getHeroClass().getMaxLevel()) {
-                return getRewardSource(HeroesRewardType.HERO_MASTERED);
-            }
-            else {
-                return getRewardSource(HeroesRewardType.HERO_LEVELED);
-            }
-        }
-
-        return null;
+        return ((HeroChangeLevelEvent) event).getHero().getPlayer();
     }
 
     public static AbstractRewardSettings<HeroesRewardType> parseConfig(ConfigurationSection config)
@@ -20,6 +20,7 @@
 package se.crafted.chrisb.ecoCreature.settings;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -27,6 +28,7 @@ import java.util.Map;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Player;
 import org.bukkit.event.Event;
 import org.bukkit.event.block.BlockBreakEvent;
 
@@ -36,35 +38,28 @@ public class MaterialRewardSettings extends AbstractRewardSettings<Material>
 {
     public MaterialRewardSettings(Map<Material, List<AbstractRewardSource>> sources)
     {
-        super(sources);
+        super(sources, Material.class);
     }
 
     @Override
-    public boolean hasRewardSource(Event event)
+    public List<Class<? extends Event>> getEventTypes()
     {
-        return event instanceof BlockBreakEvent && hasRewardSource((BlockBreakEvent) event);
+        return Collections.<Class<? extends Event>>singletonList(BlockBreakEvent.class);
     }
 
-    private boolean hasRewardSource(BlockBreakEvent event)
+    @Override
+    protected Material getRewardType(Event event)
     {
-        Block block = event.getBlock();
+        Block block = ((BlockBreakEvent) event).getBlock();
 
         // TODO: fix this properly for BuildCraft
-        if (block == null) {
-            return false;
-        }
-
-        return hasRewardSource(block.getType()) && getRewardSource(block.getType()).hasPermission(event.getPlayer());
+        return block != null ? block.getType() : null;
     }
 
     @Override
-    public AbstractRewardSource getRewardSource(Event event)
+    protected Player getRewardPlayer(Event event)
     {
-        if (event instanceof BlockBreakEvent) {
-            return getRewardSource(((BlockBreakEvent) event).getBlock().getType());
-        }
-
-        return null;
+        return ((BlockBreakEvent) event).getPlayer();
     }
 
     public static AbstractRewardSettings<Material> parseConfig(ConfigurationSection config)
@@ -20,11 +20,13 @@
 package se.crafted.chrisb.ecoCreature.settings;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Player;
 import org.bukkit.event.Event;
 
 import com.gmail.nossr50.events.experience.McMMOPlayerLevelUpEvent;
@@ -37,29 +39,29 @@ public class McMMORewardSettings extends AbstractRewardSettings<McMMORewardType>
 {
     public McMMORewardSettings(Map<McMMORewardType, List<AbstractRewardSource>> sources)
     {
-        super(sources);
+        super(sources, McMMORewardType.class);
     }
 
     @Override
-    public boolean hasRewardSource(Event event)
+    public List<Class<? extends Event>> getEventTypes()
     {
-        return DependencyUtils.hasMcMMO() && event instanceof McMMOPlayerLevelUpEvent && 
-        		hasRewardSource((McMMOPlayerLevelUpEvent) event);
+        if (DependencyUtils.hasMcMMO()) {
+            return Collections.<Class<? extends Event>>singletonList(McMMOPlayerLevelUpEvent.class);
+        }
+
+        return Collections.emptyList();
     }
 
-    private boolean hasRewardSource(McMMOPlayerLevelUpEvent event)
+    @Override
+    protected McMMORewardType getRewardType(Event event)
     {
-        return hasRewardSource(McMMORewardType.MCMMO_LEVELED) && getRewardSource(McMMORewardType.MCMMO_LEVELED).hasPermission(event.getPlayer());
+        return McMMORewardType.MCMMO_LEVELED;
     }
 
     @Override
-    public AbstractRewardSource getRewardSource(Event event)
+    protected Player getRewardPlayer(Event event)
     {
-        if (event instanceof McMMOPlayerLevelUpEvent) {
-            return getRewardSource(McMMORewardType.MCMMO_LEVELED);
-        }
-
-        return null;
+        return ((McMMOPlayerLevelUpEvent) event).getPlayer();
     }
 
     public static AbstractRewardSettings<McMMORewardType> parseConfig(ConfigurationSection config)
@@ -0,0 +1,163 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.settings;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+
+import se.crafted.chrisb.ecoCreature.metrics.Stage;
+import se.crafted.chrisb.ecoCreature.metrics.StageStats;
+import se.crafted.chrisb.ecoCreature.rewards.Reward;
+import se.crafted.chrisb.ecoCreature.rewards.sources.AbstractRewardSource;
+
+public final class RewardDispatchTable
+{
+    private static final TypeDispatch<?>[] NO_DISPATCH = new TypeDispatch<?>[0];
+
+    private final Map<Class<?>, TypeDispatch<?>[]> dispatchMap;
+
+    private RewardDispatchTable(Map<Class<?>, TypeDispatch<?>[]> dispatchMap)
+    {
+        this.dispatchMap = dispatchMap;
+    }
+
+    public Reward resolveReward(Event event)
+    {
+        StageStats stats = StageStats.getInstance();
+        long start = stats.start();
+
+        for (TypeDispatch<?> dispatch : getDispatches(event.getClass())) {
+            RewardResolution resolution = dispatch.getResolution(event);
+
+            if (resolution != null) {
+                AbstractRewardSource source = resolution.nextSource();
+
+                if (source.hasPermission(dispatch.getRewardPlayer(event))) {
+                    stats.stop(Stage.RESOLUTION, start);
+                    return resolve(event, resolution, source);
+                }
+            }
+        }
+
+        stats.stop(Stage.RESOLUTION, start);
+        return null;
+    }
+
+    private static Reward resolve(Event event, RewardResolution resolution, AbstractRewardSource source)
+    {
+        StageStats stats = StageStats.getInstance();
+        long start = stats.start();
+        boolean ruleBroken = resolution.isRuleBroken(event);
+        stats.stop(Stage.RULES, start);
+
+        if (ruleBroken) {
+            return null;
+        }
+
+        start = stats.start();
+        Reward reward = source.createReward(event);
+        stats.stop(Stage.DROPS, start);
+
+        return reward;
+    }
+
+    private TypeDispatch<?>[] getDispatches(Class<?> eventType)
+    {
+        Class<?> type = eventType;
+
+        while (type != null && Event.class.isAssignableFrom(type)) {
+            TypeDispatch<?>[] dispatches = dispatchMap.get(type);
+            if (dispatches != null) {
+                return dispatches;
+            }
+            type = type.getSuperclass();
+        }
+
+        return NO_DISPATCH;
+    }
+
+    public static RewardDispatchTable compile(List<AbstractRewardSettings<?>> rewardSettings)
+    {
+        Map<Class<?>, List<TypeDispatch<?>>> dispatchLists = new HashMap<Class<?>, List<TypeDispatch<?>>>();
+
+        for (AbstractRewardSettings<?> settings : rewardSettings) {
+            TypeDispatch<?> dispatch = TypeDispatch.compile(settings);
+
+            if (dispatch != null) {
+                for (Class<? extends Event> eventType : settings.getEventTypes()) {
+                    if (!dispatchLists.containsKey(eventType)) {
+                        dispatchLists.put(eventType, new ArrayList<TypeDispatch<?>>());
+                    }
+                    dispatchLists.get(eventType).add(dispatch);
+                }
+            }
+        }
+
+        Map<Class<?>, TypeDispatch<?>[]> dispatchMap = new HashMap<Class<?>, TypeDispatch<?>[]>();
+        for (Map.Entry<Class<?>, List<TypeDispatch<?>>> entry : dispatchLists.entrySet()) {
+            dispatchMap.put(entry.getKey(), entry.getValue().toArray(NO_DISPATCH));
+        }
+
+        return new RewardDispatchTable(Collections.unmodifiableMap(dispatchMap));
+    }
+
+    private static final class TypeDispatch<T extends Enum<T>>
+    {
+        private final AbstractRewardSettings<T> settings;
+        private final Map<T, RewardResolution> resolutions;
+
+        private TypeDispatch(AbstractRewardSettings<T> settings, Map<T, RewardResolution> resolutions)
+        {
+            this.settings = settings;
+            this.resolutions = resolutions;
+        }
+
+        RewardResolution getResolution(Event event)
+        {
+            T type = settings.getRewardType(event);
+            return type != null ? resolutions.get(type) : null;
+        }
+
+        Player getRewardPlayer(Event event)
+        {
+            return settings.getRewardPlayer(event);
+        }
+
+        static <T extends Enum<T>> TypeDispatch<T> compile(AbstractRewardSettings<T> settings)
+        {
+            Map<T, RewardResolution> resolutions = new EnumMap<T, RewardResolution>(settings.getType());
+
+            for (Map.Entry<T, List<AbstractRewardSource>> entry : settings.getSources().entrySet()) {
+                if (entry.getKey() != null && !entry.getValue().isEmpty()) {
+                    resolutions.put(entry.getKey(), new RewardResolution(new ArrayList<AbstractRewardSource>(entry.getValue()), settings.getHuntingRules()));
+                }
+            }
+
+            return resolutions.isEmpty() ? null : new TypeDispatch<T>(settings, resolutions);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.settings;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.bukkit.event.Event;
+
+import se.crafted.chrisb.ecoCreature.commons.RewardRandom;
+import se.crafted.chrisb.ecoCreature.events.EntityKilledEvent;
+import se.crafted.chrisb.ecoCreature.messages.MessageHandler;
+import se.crafted.chrisb.ecoCreature.messages.MessageToken;
+import se.crafted.chrisb.ecoCreature.rewards.rules.Rule;
+import se.crafted.chrisb.ecoCreature.rewards.sources.AbstractRewardSource;
+
+public final class RewardResolution
+{
+    private final List<AbstractRewardSource> sources;
+    private final Set<Rule> rules;
+
+    public RewardResolution(List<AbstractRewardSource> sources, Set<Rule> rules)
+    {
+        this.sources = Collections.unmodifiableList(sources);
+        this.rules = rules;
+    }
+
+    public List<AbstractRewardSource> getSources()
+    {
+        return sources;
+    }
+
+    public Set<Rule> getRules()
+    {
+        return rules;
+    }
+
+    public AbstractRewardSource nextSource()
+    {
+        return sources.size() == 1 ? sources.get(0) : sources.get(RewardRandom.current().nextInt(sources.size()));
+    }
+
+    public boolean isRuleBroken(Event event)
+    {
+        if (event instanceof EntityKilledEvent && !rules.isEmpty()) {
+            return isRuleBroken((EntityKilledEvent) event);
+        }
+
+        return false;
+    }
+
+    private boolean isRuleBroken(EntityKilledEvent event)
+    {
+        for (Rule rule : rules) {
+            if (rule.isBroken(event)) {
+                if (rule.isClearDrops()) {
+                    event.getDrops().clear();
+                    event.setDroppedExp(0);
+                }
+
+                Map<MessageToken, String> parameters = Collections.emptyMap();
+                MessageHandler message = new MessageHandler(rule.getMessage(), parameters);
+                message.send(event.getKiller());
+
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -23,6 +23,7 @@ import org.bukkit.Material;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.EntityType;
 
+import se.crafted.chrisb.ecoCreature.commons.DebugCategory;
 import se.crafted.chrisb.ecoCreature.commons.LoggerUtil;
 import se.crafted.chrisb.ecoCreature.rewards.sources.AbstractRewardSource;
 import se.crafted.chrisb.ecoCreature.rewards.sources.DeathPenaltySource;
@@ -76,7 +77,7 @@ public final class RewardSourceFactory
         }
 
         if (source != null) {
-            LoggerUtil.getInstance().debug(name + " mapped to " + source.getClass().getSimpleName());
+            LoggerUtil.getInstance().debug(DebugCategory.CONFIG, "%s mapped to %s", name, source.getClass().getSimpleName());
         }
         return source;
     }
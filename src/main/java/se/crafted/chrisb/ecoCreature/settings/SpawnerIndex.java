@@ -0,0 +1,236 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.settings;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.bukkit.Chunk;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.CreatureSpawner;
+
+public class SpawnerIndex
+{
+    private static final int FILE_MAGIC = 0x65635350;
+    private static final int FILE_VERSION = 1;
+    private static final long[] NO_SPAWNERS = new long[0];
+
+    private final Map<Long, long[]> chunks;
+    private int size;
+    private boolean dirty;
+
+    public SpawnerIndex()
+    {
+        chunks = new HashMap<Long, long[]>();
+    }
+
+    public synchronized boolean addSpawner(int x, int y, int z)
+    {
+        Long key = chunkKey(x >> 4, z >> 4);
+        long[] spawners = get(key);
+        long spawner = SpawnerMobRegistry.pack(x, y, z);
+
+        for (long existing : spawners) {
+            if (existing == spawner) {
+                return false;
+            }
+        }
+
+        long[] grown = new long[spawners.length + 1];
+        System.arraycopy(spawners, 0, grown, 0, spawners.length);
+        grown[spawners.length] = spawner;
+        chunks.put(key, grown);
+        size++;
+        dirty = true;
+
+        return true;
+    }
+
+    public synchronized boolean removeSpawner(int x, int y, int z)
+    {
+        Long key = chunkKey(x >> 4, z >> 4);
+        long[] spawners = get(key);
+        long spawner = SpawnerMobRegistry.pack(x, y, z);
+
+        for (int i = 0; i < spawners.length; i++) {
+            if (spawners[i] == spawner) {
+                if (spawners.length == 1) {
+                    chunks.remove(key);
+                }
+                else {
+                    long[] shrunk = new long[spawners.length - 1];
+                    System.arraycopy(spawners, 0, shrunk, 0, i);
+                    System.arraycopy(spawners, i + 1, shrunk, i, spawners.length - i - 1);
+                    chunks.put(key, shrunk);
+                }
+                size--;
+                dirty = true;
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public synchronized void scanChunk(Chunk chunk)
+    {
+        Long key = chunkKey(chunk.getX(), chunk.getZ());
+        long[] previous = get(key);
+        long[] spawners = NO_SPAWNERS;
+
+        for (BlockState state : chunk.getTileEntities()) {
+            if (state instanceof CreatureSpawner) {
+                long[] grown = new long[spawners.length + 1];
+                System.arraycopy(spawners, 0, grown, 0, spawners.length);
+                grown[spawners.length] = SpawnerMobRegistry.pack(state.getX(), state.getY(), state.getZ());
+                spawners = grown;
+            }
+        }
+
+        if (spawners.length == 0) {
+            chunks.remove(key);
+        }
+        else {
+            chunks.put(key, spawners);
+        }
+
+        size += spawners.length - previous.length;
+        dirty |= !sameSpawners(previous, spawners);
+    }
+
+    public synchronized boolean isNearSpawner(int x, int y, int z, int radius)
+    {
+        long radiusSquared = (long) radius * radius;
+
+        for (int chunkX = (x - radius) >> 4; chunkX <= (x + radius) >> 4; chunkX++) {
+            for (int chunkZ = (z - radius) >> 4; chunkZ <= (z + radius) >> 4; chunkZ++) {
+                for (long spawner : get(chunkKey(chunkX, chunkZ))) {
+                    long dx = SpawnerMobRegistry.unpackX(spawner) - x;
+                    long dy = SpawnerMobRegistry.unpackY(spawner) - y;
+                    long dz = SpawnerMobRegistry.unpackZ(spawner) - z;
+
+                    if (dx * dx + dy * dy + dz * dz <= radiusSquared) {
+                        return true;
+                    }
+                }
+            }
+        }
+
+        return false;
+    }
+
+    public synchronized int size()
+    {
+        return size;
+    }
+
+    public synchronized void load(File file) throws IOException
+    {
+        chunks.clear();
+        size = 0;
+
+        if (file.exists()) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            try {
+                if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_VERSION) {
+                    throw new IOException("Unrecognized spawner index " + file.getName());
+                }
+
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    long spawner = in.readLong();
+                    addSpawner(SpawnerMobRegistry.unpackX(spawner), SpawnerMobRegistry.unpackY(spawner), SpawnerMobRegistry.unpackZ(spawner));
+                }
+            }
+            finally {
+                in.close();
+            }
+        }
+
+        dirty = false;
+    }
+
+    public synchronized void save(File file) throws IOException
+    {
+        if (!dirty) {
+            return;
+        }
+
+        File tempFile = new File(file.getPath() + ".tmp");
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+        try {
+            out.writeInt(FILE_MAGIC);
+            out.writeInt(FILE_VERSION);
+            out.writeInt(size);
+            for (long[] spawners : chunks.values()) {
+                for (long spawner : spawners) {
+                    out.writeLong(spawner);
+                }
+            }
+        }
+        finally {
+            out.close();
+        }
+
+        if (!tempFile.renameTo(file) && !(file.delete() && tempFile.renameTo(file))) {
+            throw new IOException("Could not replace " + file.getName());
+        }
+
+        dirty = false;
+    }
+
+    private long[] get(Long key)
+    {
+        long[] spawners = chunks.get(key);
+        return spawners != null ? spawners : NO_SPAWNERS;
+    }
+
+    private static boolean sameSpawners(long[] previous, long[] spawners)
+    {
+        if (previous.length != spawners.length) {
+            return false;
+        }
+
+        for (long spawner : spawners) {
+            boolean found = false;
+            for (long existing : previous) {
+                found |= existing == spawner;
+            }
+            if (!found) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static Long chunkKey(int chunkX, int chunkZ)
+    {
+        return Long.valueOf(((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL));
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.settings;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.event.entity.CreatureSpawnEvent;
+
+import se.crafted.chrisb.ecoCreature.commons.IntLongHashMap;
+import se.crafted.chrisb.ecoCreature.commons.LoggerUtil;
+
+public class SpawnerMobRegistry implements SpawnerMobTracking
+{
+    private static final String INDEX_EXTENSION = ".dat";
+    private static final int SPAWN_RANGE = 4;
+    private static final int SPAWN_HEIGHT = 2;
+
+    private final IntLongHashMap spawnerMobs;
+    private final Map<String, SpawnerIndex> spawners;
+    private final File indexFolder;
+
+    public SpawnerMobRegistry(File indexFolder)
+    {
+        this.indexFolder = indexFolder;
+        spawnerMobs = new IntLongHashMap();
+        spawners = new ConcurrentHashMap<String, SpawnerIndex>();
+    }
+
+    @Override
+    public void addSpawnerMob(CreatureSpawnEvent event)
+    {
+        Location location = event.getLocation();
+        spawnerMobs.put(event.getEntity().getEntityId(), pack(location.getBlockX(), location.getBlockY(), location.getBlockZ()));
+
+        SpawnerIndex index = getIndex(location.getWorld());
+        if (!index.isNearSpawner(location.getBlockX(), location.getBlockY(), location.getBlockZ(), SPAWN_RANGE + SPAWN_HEIGHT)) {
+            findSpawner(index, location);
+        }
+    }
+
+    @Override
+    public boolean isSpawnerMob(LivingEntity entity)
+    {
+        return spawnerMobs.containsKey(entity.getEntityId());
+    }
+
+    @Override
+    public boolean isNearSpawner(Location location, int radius)
+    {
+        SpawnerIndex index = spawners.get(location.getWorld().getName());
+        return index != null && index.isNearSpawner(location.getBlockX(), location.getBlockY(), location.getBlockZ(), radius);
+    }
+
+    @Override
+    public void removeSpawnerMob(Entity entity)
+    {
+        spawnerMobs.remove(entity.getEntityId());
+    }
+
+    public void removeSpawnerMobs(Entity[] entities)
+    {
+        for (Entity entity : entities) {
+            spawnerMobs.remove(entity.getEntityId());
+        }
+    }
+
+    public void addSpawner(World world, int x, int y, int z)
+    {
+        getIndex(world).addSpawner(x, y, z);
+    }
+
+    public void removeSpawner(World world, int x, int y, int z)
+    {
+        getIndex(world).removeSpawner(x, y, z);
+    }
+
+    public void scanChunk(Chunk chunk)
+    {
+        getIndex(chunk.getWorld()).scanChunk(chunk);
+    }
+
+    public void loadWorld(World world)
+    {
+        SpawnerIndex index = new SpawnerIndex();
+
+        try {
+            index.load(getIndexFile(world));
+        }
+        catch (IOException e) {
+            LoggerUtil.getInstance().warning("Failed to read spawner index for " + world.getName() + ": " + e.getMessage());
+        }
+
+        for (Chunk chunk : world.getLoadedChunks()) {
+            index.scanChunk(chunk);
+        }
+
+        spawners.put(world.getName(), index);
+    }
+
+    public void saveWorld(World world)
+    {
+        SpawnerIndex index = spawners.get(world.getName());
+
+        if (index != null) {
+            try {
+                indexFolder.mkdirs();
+                index.save(getIndexFile(world));
+            }
+            catch (IOException e) {
+                LoggerUtil.getInstance().warning("Failed to write spawner index for " + world.getName() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    public void unloadWorld(World world)
+    {
+        saveWorld(world);
+        spawners.remove(world.getName());
+    }
+
+    public int size()
+    {
+        return spawnerMobs.size();
+    }
+
+    public int capacity()
+    {
+        return spawnerMobs.capacity();
+    }
+
+    public long getFootprint()
+    {
+        return spawnerMobs.getFootprint();
+    }
+
+    public int getSpawnerCount()
+    {
+        int count = 0;
+        for (SpawnerIndex index : spawners.values()) {
+            count += index.size();
+        }
+        return count;
+    }
+
+    public void clear()
+    {
+        spawnerMobs.clear();
+    }
+
+    private SpawnerIndex getIndex(World world)
+    {
+        SpawnerIndex index = spawners.get(world.getName());
+
+        if (index == null) {
+            index = new SpawnerIndex();
+            spawners.put(world.getName(), index);
+        }
+
+        return index;
+    }
+
+    private File getIndexFile(World world)
+    {
+        return new File(indexFolder, world.getName() + INDEX_EXTENSION);
+    }
+
+    private static void findSpawner(SpawnerIndex index, Location location)
+    {
+        World world = location.getWorld();
+        int spawnerId = Material.MOB_SPAWNER.getId();
+
+        for (int x = location.getBlockX() - SPAWN_RANGE; x <= location.getBlockX() + SPAWN_RANGE; x++) {
+            for (int y = location.getBlockY() - SPAWN_HEIGHT; y <= location.getBlockY() + SPAWN_HEIGHT; y++) {
+                for (int z = location.getBlockZ() - SPAWN_RANGE; z <= location.getBlockZ() + SPAWN_RANGE; z++) {
+                    if (world.getBlockTypeIdAt(x, y, z) == spawnerId) {
+                        index.addSpawner(x, y, z);
+                    }
+                }
+            }
+        }
+    }
+
+    static long pack(int x, int y, int z)
+    {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    static int unpackX(long packed)
+    {
+        return (int) (packed >> 38);
+    }
+
+    static int unpackY(long packed)
+    {
+        return (int) (packed << 52 >> 52);
+    }
+
+    static int unpackZ(long packed)
+    {
+        return (int) (packed << 26 >> 38);
+    }
+}
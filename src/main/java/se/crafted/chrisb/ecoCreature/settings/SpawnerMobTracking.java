@@ -19,6 +19,8 @@
  */
 package se.crafted.chrisb.ecoCreature.settings;
 
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.event.entity.CreatureSpawnEvent;
 
@@ -27,4 +29,8 @@ public interface SpawnerMobTracking
     void addSpawnerMob(CreatureSpawnEvent event);
 
     boolean isSpawnerMob(LivingEntity entity);
+
+    boolean isNearSpawner(Location location, int radius);
+
+    void removeSpawnerMob(Entity entity);
 }
@@ -20,11 +20,14 @@
 package se.crafted.chrisb.ecoCreature.settings;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Player;
 import org.bukkit.event.Event;
 import org.simiancage.DeathTpPlus.events.DeathStreakEvent;
 import org.simiancage.DeathTpPlus.events.KillStreakEvent;
@@ -37,45 +40,37 @@ public class StreakRewardSettings extends AbstractRewardSettings<StreakRewardTyp
 {
     public StreakRewardSettings(Map<StreakRewardType, List<AbstractRewardSource>> sources)
     {
-        super(sources);
+        super(sources, StreakRewardType.class);
     }
 
     @Override
-    public boolean hasRewardSource(Event event)
+    public List<Class<? extends Event>> getEventTypes()
     {
-    	if (DependencyUtils.hasDeathTpPlus()) {
-	        if (event instanceof DeathStreakEvent) {
-	            return hasRewardSource((DeathStreakEvent) event);
-	        }
-	        else if (event instanceof KillStreakEvent) {
-	            return hasRewardSource((KillStreakEvent) event);
-	        }
-    	}
-
-        return false;
-    }
+        if (DependencyUtils.hasDeathTpPlus()) {
+            return Arrays.<Class<? extends Event>>asList(DeathStreakEvent.class, KillStreakEvent.class);
+        }
 
-    private boolean hasRewardSource(DeathStreakEvent event)
-    {
-        return hasRewardSource(StreakRewardType.DEATH_STREAK) && getRewardSource(StreakRewardType.DEATH_STREAK).hasPermission(event.getPlayer());
+        return Collections.emptyList();
     }
 
-    private boolean hasRewardSource(KillStreakEvent event)
+    @Override
+    protected StreakRewardType getRewardType(Event event)
     {
-        return hasRewardSource(StreakRewardType.KILL_STREAK) && getRewardSource(StreakRewardType.KILL_STREAK).hasPermission(event.getPlayer());
+        if (event instanceof DeathStreakEvent) {
+            return StreakRewardType.DEATH_STREAK;
+        }
+
+        return StreakRewardType.KILL_STREAK;
     }
 
     @Override
-    public AbstractRewardSource getRewardSource(Event event)
+    protected Player getRewardPlayer(Event event)
     {
-        if (DependencyUtils.hasDeathTpPlus() && event instanceof DeathStreakEvent) {
-            return getRewardSource(StreakRewardType.DEATH_STREAK);
-        }
-        else if (DependencyUtils.hasDeathTpPlus() && event instanceof KillStreakEvent) {
-            return getRewardSource(StreakRewardType.KILL_STREAK);
+        if (event instanceof DeathStreakEvent) {
+            return ((DeathStreakEvent) event).getPlayer();
         }
 
-        return null;
+        return ((KillStreakEvent) event).getPlayer();
     }
 
     public static AbstractRewardSettings<StreakRewardType> parseConfig(ConfigurationSection config)
@@ -19,48 +19,39 @@
  */
 package se.crafted.chrisb.ecoCreature.settings;
 
-import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
-import java.util.List;
 import java.util.Set;
 
-import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.Event;
-import org.bukkit.event.entity.CreatureSpawnEvent;
-import org.bukkit.metadata.FixedMetadataValue;
 
-import se.crafted.chrisb.ecoCreature.ecoCreature;
+import se.crafted.chrisb.ecoCreature.messages.Message;
+import se.crafted.chrisb.ecoCreature.metrics.Stage;
+import se.crafted.chrisb.ecoCreature.metrics.StageStats;
 import se.crafted.chrisb.ecoCreature.rewards.Reward;
-import se.crafted.chrisb.ecoCreature.rewards.gain.PlayerGain;
-import se.crafted.chrisb.ecoCreature.rewards.parties.Party;
+import se.crafted.chrisb.ecoCreature.rewards.gain.GainContext;
+import se.crafted.chrisb.ecoCreature.rewards.gain.GainMultipliers;
+import se.crafted.chrisb.ecoCreature.rewards.parties.PartyCache;
 
-public class WorldSettings implements SpawnerMobTracking
+public class WorldSettings
 {
-    public static final String SPAWNERMOB_TAG_MDID = "ecoCreature.spawnerMob";
-    public static final String SPAWNERLOC_TAG_MDID = "ecoCreature.spawnerLoc";
-
     private boolean clearOnNoDrops;
     private boolean overrideDrops;
     private boolean noFarm;
     private boolean noFarmFire;
+    private long coalesceTicks;
+    private Message coalescedRewardMessage;
+    private Message coalescedPenaltyMessage;
 
-    private ecoCreature plugin;
-    private List<AbstractRewardSettings<?>> rewardSettings;
-    private Set<PlayerGain> gainMultipliers;
-    private Set<Party> parties;
-
-    private final FixedMetadataValue spawnerMobTag;
+    private RewardDispatchTable rewardTable;
+    private GainMultipliers gainMultipliers;
+    private PartyCache partyCache;
 
-    public WorldSettings(ecoCreature plugin)
+    public WorldSettings()
     {
-        this.plugin = plugin;
-        rewardSettings = new ArrayList<AbstractRewardSettings<?>>();
-        gainMultipliers = Collections.emptySet();
-        parties = Collections.emptySet();
-
-        spawnerMobTag = new FixedMetadataValue(plugin, true);
+        rewardTable = RewardDispatchTable.compile(Collections.<AbstractRewardSettings<?>>emptyList());
+        gainMultipliers = GainMultipliers.empty();
+        partyCache = PartyCache.empty();
     }
 
     public boolean isClearOnNoDrops()
@@ -103,82 +94,88 @@ public class WorldSettings implements SpawnerMobTracking
         this.noFarmFire = noFarmFire;
     }
 
-    public void setGainMultipliers(Set<PlayerGain> gainMultipliers)
+    public long getCoalesceTicks()
     {
-        this.gainMultipliers = gainMultipliers;
+        return coalesceTicks;
     }
 
-    public void setParties(Set<Party> parties)
+    public void setCoalesceTicks(long coalesceTicks)
     {
-        this.parties = parties;
+        this.coalesceTicks = coalesceTicks;
     }
 
-    public void setRewardSettings(List<AbstractRewardSettings<?>> rewardSettings)
+    public Message getCoalescedRewardMessage()
     {
-        this.rewardSettings = rewardSettings;
+        return coalescedRewardMessage;
     }
 
-    public boolean hasReward(Event event)
+    public void setCoalescedRewardMessage(Message coalescedRewardMessage)
     {
-        boolean hasReward = false;
+        this.coalescedRewardMessage = coalescedRewardMessage;
+    }
+
+    public Message getCoalescedPenaltyMessage()
+    {
+        return coalescedPenaltyMessage;
+    }
+
+    public void setCoalescedPenaltyMessage(Message coalescedPenaltyMessage)
+    {
+        this.coalescedPenaltyMessage = coalescedPenaltyMessage;
+    }
 
-        for (AbstractRewardSettings<?> settings : this.rewardSettings) {
-            if (settings.hasRewardSource(event)) {
-                hasReward = true;
-                break;
-            }
-        }
+    public void setGainMultipliers(GainMultipliers gainMultipliers)
+    {
+        this.gainMultipliers = gainMultipliers;
+    }
 
-        return hasReward;
+    public void setPartyCache(PartyCache partyCache)
+    {
+        this.partyCache = partyCache;
     }
 
-    public Reward createReward(Event event)
+    public void setRewardTable(RewardDispatchTable rewardTable)
     {
-        for (AbstractRewardSettings<?> settings : this.rewardSettings) {
-            if (settings.hasRewardSource(event)) {
-                return settings.getRewardSource(event).createReward(event);
-            }
-        }
+        this.rewardTable = rewardTable;
+    }
 
-        return null;
+    public Reward resolveReward(Event event)
+    {
+        return rewardTable.resolveReward(event);
     }
 
     public double getGainMultiplier(Player player)
     {
-        double multiplier = 1.0;
-
-        for (PlayerGain gain : gainMultipliers) {
-            if (gain.hasPermission(player)) {
-                multiplier *= gain.getGain(player);
-            }
-        }
+        long start = StageStats.getInstance().start();
+        double multiplier = gainMultipliers.getGainMultiplier(player);
+        StageStats.getInstance().stop(Stage.GAIN, start);
 
         return multiplier;
     }
 
-    public Set<String> getPartyMembers(Player player)
+    public GainContext getGainContext(Player player)
     {
-        Set<String> players = new HashSet<String>();
+        return gainMultipliers.getContext(player);
+    }
 
-        for (Party party : parties) {
-            if (party.isShared()) {
-                players.addAll(party.getMembers(player));
-            }
-        }
+    public void invalidatePlayer(String player)
+    {
+        gainMultipliers.invalidate(player);
+        partyCache.invalidate(player);
+    }
 
-        return players;
+    public void invalidateParties()
+    {
+        partyCache.invalidateAll();
     }
 
-    @Override
-    public void addSpawnerMob(CreatureSpawnEvent event)
+    public int getPartyCacheSize()
     {
-        event.getEntity().setMetadata(SPAWNERMOB_TAG_MDID, spawnerMobTag);
-        event.getEntity().setMetadata(SPAWNERLOC_TAG_MDID, new FixedMetadataValue(plugin, event.getLocation()));
+        return partyCache.size();
     }
 
-    @Override
-    public boolean isSpawnerMob(LivingEntity entity)
+    public Set<Player> getPartyMembers(Player player)
     {
-        return entity.hasMetadata(SPAWNERMOB_TAG_MDID);
+        return partyCache.getMembers(player);
     }
 }
@@ -32,6 +32,7 @@ import org.bukkit.entity.Skeleton.SkeletonType;
 import org.bukkit.entity.Wolf;
 import org.bukkit.entity.Zombie;
 
+import se.crafted.chrisb.ecoCreature.commons.DebugCategory;
 import se.crafted.chrisb.ecoCreature.commons.LoggerUtil;
 
 public enum CustomEntityRewardType
@@ -93,7 +94,7 @@ public enum CustomEntityRewardType
         }
 
         if (entityType == INVALID) {
-            LoggerUtil.getInstance().debug("No match for type: " + entity.getType().getName());
+            LoggerUtil.getInstance().debug(DebugCategory.CONFIG, "No match for type: %s", entity.getType().getName());
         }
 
         return entityType;
@@ -0,0 +1,89 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.commons;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+public class IntLongHashMapTest
+{
+    private static final long MISSING = -1L;
+    private static final int OPERATIONS = 100000;
+    private static final int KEY_RANGE = 5000;
+
+    @Test
+    public void testPutGetRemove()
+    {
+        IntLongHashMap map = new IntLongHashMap();
+
+        map.put(42, 7L);
+        map.put(0, 3L);
+        Assert.assertEquals(7L, map.get(42, MISSING));
+        Assert.assertEquals(3L, map.get(0, MISSING));
+        Assert.assertEquals(2, map.size());
+
+        Assert.assertTrue(map.remove(42));
+        Assert.assertFalse(map.remove(42));
+        Assert.assertEquals(MISSING, map.get(42, MISSING));
+        Assert.assertTrue(map.remove(0));
+        Assert.assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testAgainstHashMap()
+    {
+        IntLongHashMap map = new IntLongHashMap(4);
+        Map<Integer, Long> expected = new HashMap<Integer, Long>();
+        Random random = new Random(1234L);
+
+        for (int i = 0; i < OPERATIONS; i++) {
+            int key = random.nextInt(KEY_RANGE) - KEY_RANGE / 2;
+
+            if (random.nextInt(3) == 0) {
+                Assert.assertEquals(expected.remove(key) != null, map.remove(key));
+            }
+            else {
+                long value = random.nextLong();
+                expected.put(key, value);
+                map.put(key, value);
+            }
+        }
+
+        Assert.assertEquals(expected.size(), map.size());
+        for (int key = -KEY_RANGE / 2; key < KEY_RANGE / 2; key++) {
+            Long value = expected.get(key);
+            Assert.assertEquals(value != null, map.containsKey(key));
+            Assert.assertEquals(value != null ? value.longValue() : MISSING, map.get(key, MISSING));
+        }
+
+        Set<Integer> keys = new HashSet<Integer>();
+        for (int key : map.keys()) {
+            keys.add(key);
+        }
+        Assert.assertEquals(expected.keySet(), keys);
+    }
+}
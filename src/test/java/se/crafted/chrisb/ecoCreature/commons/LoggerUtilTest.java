@@ -0,0 +1,111 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.commons;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import junit.framework.Assert;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LoggerUtilTest
+{
+    private final List<String> messages = new ArrayList<String>();
+    private final Handler handler = new Handler()
+    {
+        @Override
+        public void publish(LogRecord record)
+        {
+            messages.add(record.getMessage());
+        }
+
+        @Override
+        public void flush()
+        {
+        }
+
+        @Override
+        public void close()
+        {
+        }
+    };
+
+    @Before
+    public void setUp()
+    {
+        Logger.getLogger("Minecraft").addHandler(handler);
+        LoggerUtil.getInstance().setDebug(true);
+    }
+
+    @After
+    public void tearDown()
+    {
+        Logger.getLogger("Minecraft").removeHandler(handler);
+        LoggerUtil.getInstance().setDebug(false);
+        LoggerUtil.getInstance().setDebugCategories(Collections.<DebugCategory> emptyList());
+        LoggerUtil.getInstance().setSampleRate(1);
+    }
+
+    @Test
+    public void testDisabledSkipsFormatting()
+    {
+        LoggerUtil.getInstance().setDebug(false);
+        LoggerUtil.getInstance().debug(DebugCategory.RULES, "%d", "not a number");
+
+        Assert.assertTrue(messages.isEmpty());
+    }
+
+    @Test
+    public void testCategories()
+    {
+        LoggerUtil.getInstance().setDebugCategories(Arrays.asList(DebugCategory.RULES, DebugCategory.ECONOMY));
+        Assert.assertTrue(LoggerUtil.getInstance().isDebug(DebugCategory.RULES));
+        Assert.assertFalse(LoggerUtil.getInstance().isDebug(DebugCategory.GAINS));
+
+        LoggerUtil.getInstance().debug(DebugCategory.GAINS, "gain %s", "skipped");
+        LoggerUtil.getInstance().debug(DebugCategory.RULES, "No reward for %s", "Steve");
+        Assert.assertEquals(Arrays.asList("[ecoCreature] Rules: No reward for Steve"), messages);
+
+        Assert.assertTrue(LoggerUtil.getInstance().toggleDebugCategory(DebugCategory.GAINS));
+        Assert.assertFalse(LoggerUtil.getInstance().toggleDebugCategory(DebugCategory.RULES));
+        Assert.assertFalse(LoggerUtil.getInstance().isDebug(DebugCategory.RULES));
+        Assert.assertTrue(LoggerUtil.getInstance().isDebug(DebugCategory.GAINS));
+    }
+
+    @Test
+    public void testSampleRate()
+    {
+        LoggerUtil.getInstance().setSampleRate(4);
+
+        for (int i = 0; i < 20; i++) {
+            LoggerUtil.getInstance().debug(DebugCategory.CONFIG, "message %d", i);
+        }
+
+        Assert.assertEquals(5, messages.size());
+    }
+}
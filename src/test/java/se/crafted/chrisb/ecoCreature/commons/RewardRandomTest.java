@@ -0,0 +1,109 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.commons;
+
+import java.util.Arrays;
+
+import junit.framework.Assert;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class RewardRandomTest
+{
+    private static final int ROLLS = 10000;
+
+    @After
+    public void tearDown()
+    {
+        RewardRandom.clearSeed();
+    }
+
+    @Test
+    public void testSeedIsRepeatable()
+    {
+        RewardRandom.setSeed(42L);
+        long[] first = roll();
+
+        RewardRandom.setSeed(42L);
+        long[] second = roll();
+
+        RewardRandom.setSeed(43L);
+        long[] third = roll();
+
+        Assert.assertTrue(Arrays.equals(first, second));
+        Assert.assertFalse(Arrays.equals(first, third));
+    }
+
+    @Test
+    public void testSeedAppliesToOtherThreads() throws InterruptedException
+    {
+        final long[][] rolls = new long[2][];
+
+        for (int i = 0; i < rolls.length; i++) {
+            final int index = i;
+            RewardRandom.setSeed(7L);
+            Thread thread = new Thread()
+            {
+                @Override
+                public void run()
+                {
+                    rolls[index] = roll();
+                }
+            };
+            thread.start();
+            thread.join();
+        }
+
+        Assert.assertTrue(Arrays.equals(rolls[0], rolls[1]));
+    }
+
+    @Test
+    public void testBounds()
+    {
+        RewardRandom random = RewardRandom.current();
+        int[] counts = new int[6];
+
+        for (int i = 0; i < ROLLS; i++) {
+            double d = random.nextDouble();
+            Assert.assertTrue(d >= 0.0D && d < 1.0D);
+            counts[random.nextInt(6)]++;
+
+            int ranged = random.nextInt(3, 5);
+            Assert.assertTrue(ranged >= 3 && ranged <= 5);
+        }
+
+        for (int count : counts) {
+            Assert.assertTrue(count > ROLLS / 6 - ROLLS / 20 && count < ROLLS / 6 + ROLLS / 20);
+        }
+        Assert.assertEquals(4, random.nextInt(4, 4));
+    }
+
+    private static long[] roll()
+    {
+        long[] values = new long[16];
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = RewardRandom.current().nextLong();
+        }
+
+        return values;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.events.handlers;
+
+import java.util.Collections;
+import java.util.Set;
+
+import junit.framework.Assert;
+
+import org.bukkit.World;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+import org.junit.Test;
+
+import se.crafted.chrisb.ecoCreature.events.RewardEvent;
+import se.crafted.chrisb.ecoCreature.settings.WorldSettings;
+
+public class PluginEventHandlerTest
+{
+    @Test
+    public void testFirstNonEmptyHandlerWins()
+    {
+        Set<RewardEvent> rewards = Collections.singleton(new RewardEvent(null, null));
+        PluginEventHandler handler = new PluginEventHandler();
+        handler.add(new StubCreator(BaseEvent.class, Collections.<RewardEvent>emptySet()));
+        handler.add(new StubCreator(BaseEvent.class, rewards));
+        handler.add(new StubCreator(BaseEvent.class, Collections.singleton(new RewardEvent(null, null))));
+
+        Assert.assertSame(rewards, handler.createRewardEvents(new BaseEvent()));
+    }
+
+    @Test
+    public void testSubclassFallsBackToSuperclassHandlers()
+    {
+        Set<RewardEvent> rewards = Collections.singleton(new RewardEvent(null, null));
+        PluginEventHandler handler = new PluginEventHandler();
+        handler.add(new StubCreator(BaseEvent.class, rewards));
+
+        Assert.assertSame(rewards, handler.createRewardEvents(new SubEvent()));
+    }
+
+    @Test
+    public void testUnhandledEventReturnsSharedEmptySet()
+    {
+        PluginEventHandler handler = new PluginEventHandler();
+        handler.add(new StubCreator(SubEvent.class, Collections.singleton(new RewardEvent(null, null))));
+
+        Assert.assertSame(Collections.emptySet(), handler.createRewardEvents(new BaseEvent()));
+    }
+
+    private static final class StubCreator implements RewardEventCreator
+    {
+        private final Class<? extends Event> eventType;
+        private final Set<RewardEvent> events;
+
+        StubCreator(Class<? extends Event> eventType, Set<RewardEvent> events)
+        {
+            this.eventType = eventType;
+            this.events = events;
+        }
+
+        @Override
+        public Class<? extends Event> getEventType()
+        {
+            return eventType;
+        }
+
+        @Override
+        public Set<RewardEvent> createRewardEvents(Event event)
+        {
+            return events;
+        }
+
+        @Override
+        public WorldSettings getSettings(World world)
+        {
+            return null;
+        }
+    }
+
+    private static class BaseEvent extends Event
+    {
+        private static final HandlerList handlers = new HandlerList();
+
+        @Override
+        public HandlerList getHandlers()
+        {
+            return handlers;
+        }
+    }
+
+    private static final class SubEvent extends BaseEvent
+    {
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.messages;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+public class DefaultMessageTest
+{
+    private static final String TEST_TEMPLATE = "&7You are awarded &6<amt>&7 for slaying a <crt> with <itm>, <plr>.";
+
+    @Test
+    public void testColorConversion()
+    {
+        Assert.assertEquals("§7Tom && Jerry", new DefaultMessage("&7Tom &&&& Jerry").getTemplate());
+        Assert.assertEquals("Tom & Jerry", new DefaultMessage("Tom && Jerry").getTemplate());
+        Assert.assertNull(new DefaultMessage(null).getAssembledMessage(new HashMap<MessageToken, String>()));
+    }
+
+    @Test
+    public void testAssembledMessage()
+    {
+        Map<MessageToken, String> parameters = new HashMap<MessageToken, String>();
+        parameters.put(MessageToken.AMOUNT, "$1.50");
+        parameters.put(MessageToken.CREATURE, "Zombie");
+        parameters.put(MessageToken.ITEM, "DIAMOND_SWORD");
+        parameters.put(MessageToken.PLAYER, "Notch");
+
+        Assert.assertEquals("§7You are awarded §6$1.50§7 for slaying a Zombie with Diamond Sword, Notch.",
+                new DefaultMessage(TEST_TEMPLATE).getAssembledMessage(parameters));
+    }
+
+    @Test
+    public void testMissingParameter()
+    {
+        Map<MessageToken, String> parameters = new HashMap<MessageToken, String>();
+        parameters.put(MessageToken.AMOUNT, "5");
+
+        Assert.assertEquals("<plr> got 5 <amt", new DefaultMessage("<plr> got <amt> <amt").getAssembledMessage(parameters));
+    }
+
+    @Test
+    public void testItemNames()
+    {
+        Map<MessageToken, String> parameters = new HashMap<MessageToken, String>();
+        Message message = new DefaultMessage("<itm>");
+
+        parameters.put(MessageToken.ITEM, "AIR");
+        Assert.assertEquals("Fists", message.getAssembledMessage(parameters));
+        parameters.put(MessageToken.ITEM, "BOW");
+        Assert.assertEquals("Bow & Arrow", message.getAssembledMessage(parameters));
+        parameters.put(MessageToken.ITEM, "GOLD_AXE");
+        Assert.assertEquals("Gold Axe", message.getAssembledMessage(parameters));
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.metrics;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest
+{
+    @Test
+    public void testBucketBounds()
+    {
+        long[] values = { 0L, 1L, 3L, 4L, 5L, 7L, 8L, 100L, 1023L, 1024L, 123456789L, Long.MAX_VALUE };
+
+        for (long value : values) {
+            int index = LatencyHistogram.bucketIndex(value);
+            Assert.assertTrue(value <= LatencyHistogram.bucketUpperBound(index));
+            if (index > 0) {
+                Assert.assertTrue(value > LatencyHistogram.bucketUpperBound(index - 1));
+            }
+        }
+    }
+
+    @Test
+    public void testPercentiles()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        for (long i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        Assert.assertEquals(1000L, histogram.getCount());
+        Assert.assertEquals(1000000L, histogram.getMax());
+        assertWithin(500000L, histogram.getPercentile(50.0), 0.25);
+        assertWithin(990000L, histogram.getPercentile(99.0), 0.25);
+        Assert.assertEquals(1000000L, histogram.getPercentile(100.0));
+    }
+
+    @Test
+    public void testCumulativeCounts()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(500L);
+        histogram.record(2000L);
+        histogram.record(2000000L);
+
+        Assert.assertEquals(2002500L, histogram.getSum());
+        Assert.assertEquals(0L, histogram.getCountAtOrBelow(100L));
+        Assert.assertEquals(1L, histogram.getCountAtOrBelow(1000L));
+        Assert.assertEquals(2L, histogram.getCountAtOrBelow(1000000L));
+        Assert.assertEquals(3L, histogram.getCountAtOrBelow(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testReset()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(42L);
+        histogram.reset();
+
+        Assert.assertEquals(0L, histogram.getCount());
+        Assert.assertEquals(0L, histogram.getMax());
+        Assert.assertEquals(0L, histogram.getPercentile(50.0));
+    }
+
+    private static void assertWithin(long expected, long actual, double error)
+    {
+        Assert.assertTrue(actual + " not within " + error + " of " + expected, Math.abs(actual - expected) <= expected * error);
+    }
+}
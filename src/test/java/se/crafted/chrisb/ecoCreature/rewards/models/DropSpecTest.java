@@ -0,0 +1,91 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.rewards.models;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+public class DropSpecTest
+{
+    @Test
+    public void testSimpleDrop()
+    {
+        DropSpec spec = DropSpec.parse("BONE:2:50");
+
+        Assert.assertEquals("BONE", spec.getName());
+        Assert.assertNull(spec.getData());
+        Assert.assertNull(spec.getDurability());
+        Assert.assertTrue(spec.getEnchantments().isEmpty());
+        Assert.assertEquals(0, spec.getRange().getMinimumInteger());
+        Assert.assertEquals(2, spec.getRange().getMaximumInteger());
+        Assert.assertEquals(50.0, spec.getPercentage());
+    }
+
+    @Test
+    public void testFullDrop()
+    {
+        DropSpec spec = DropSpec.parse("diamond sword.0.12,damage_all.2-4,fire_aspect:1-3:12.5");
+
+        Assert.assertEquals("diamond sword", spec.getName());
+        Assert.assertEquals(Byte.valueOf((byte) 0), spec.getData());
+        Assert.assertEquals(Short.valueOf((short) 12), spec.getDurability());
+        Assert.assertEquals(2, spec.getEnchantments().size());
+
+        DropSpec.EnchantmentSpec sharpness = spec.getEnchantments().get(0);
+        Assert.assertEquals("damage_all", sharpness.getName());
+        Assert.assertEquals(20, sharpness.getColumn());
+        Assert.assertEquals(2, sharpness.getLevelRange().getMinimumInteger());
+        Assert.assertEquals(4, sharpness.getLevelRange().getMaximumInteger());
+
+        DropSpec.EnchantmentSpec fire = spec.getEnchantments().get(1);
+        Assert.assertEquals("fire_aspect", fire.getName());
+        Assert.assertEquals(1, fire.getLevelRange().getMinimumInteger());
+        Assert.assertEquals(1, fire.getLevelRange().getMaximumInteger());
+
+        Assert.assertEquals(1, spec.getRange().getMinimumInteger());
+        Assert.assertEquals(3, spec.getRange().getMaximumInteger());
+        Assert.assertEquals(12.5, spec.getPercentage());
+    }
+
+    @Test
+    public void testErrorColumns()
+    {
+        assertError("BONE", 5);
+        assertError("BONE:x:50", 6);
+        assertError("BONE:1-:50", 8);
+        assertError("BONE:1:", 8);
+        assertError("BONE:1:50:3", 10);
+        assertError("WOOL.300:1:50", 6);
+        assertError(":1:50", 1);
+        assertError("BONE,:1:50", 6);
+    }
+
+    private static void assertError(String drop, int column)
+    {
+        try {
+            DropSpec.parse(drop);
+            Assert.fail("Expected error for " + drop);
+        }
+        catch (DropSpecException e) {
+            Assert.assertEquals(drop, column, e.getColumn());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.settings;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+public class ConfigSnapshotTest
+{
+    private static final byte[] HASH = { 1, 2, 3, 4 };
+
+    @Test
+    public void testWriteAndRead() throws IOException
+    {
+        Map<String, Object> drops = new LinkedHashMap<String, Object>();
+        drops.put("Drops", Arrays.asList("BONE:1:50", "ARROW:0-2:75"));
+        drops.put("Coin_Minimum", 5.0);
+        drops.put("Coin_Maximum", 10.5);
+        drops.put("Coin_Percent", 100);
+        drops.put("Stack", Boolean.TRUE);
+
+        Map<String, Object> rewards = new LinkedHashMap<String, Object>();
+        rewards.put("Skeleton", drops);
+        rewards.put("Empty", null);
+
+        List<Object> mapList = new ArrayList<Object>();
+        mapList.add(Collections.singletonMap("Name", "party"));
+
+        Map<String, Object> values = new LinkedHashMap<String, Object>();
+        values.put("RewardTable", rewards);
+        values.put("Parties", mapList);
+        values.put("Seed", Long.MAX_VALUE);
+        values.put("Message", "\u00a7aYou got <amt> \u00f1");
+
+        ConfigSnapshot snapshot = new ConfigSnapshot(1234L);
+        snapshot.putValues("default.yml", values);
+
+        File file = File.createTempFile("ecoCreature", ".snapshot");
+        try {
+            snapshot.write(file, HASH);
+
+            ConfigSnapshot loaded = ConfigSnapshot.read(file, HASH);
+            Assert.assertNotNull(loaded);
+            Assert.assertEquals(1234L, loaded.getLoadNanos());
+            Assert.assertEquals(values, loaded.getValues("default.yml"));
+            Assert.assertEquals(Arrays.asList("RewardTable", "Parties", "Seed", "Message"), new ArrayList<String>(loaded.getValues("default.yml").keySet()));
+
+            Assert.assertNull(ConfigSnapshot.read(file, new byte[] { 1, 2, 3, 5 }));
+        }
+        finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testMissingFile() throws IOException
+    {
+        Assert.assertNull(ConfigSnapshot.read(new File("does-not-exist.snapshot"), HASH));
+    }
+
+    @Test
+    public void testHashChangesWithContent() throws IOException
+    {
+        File file = File.createTempFile("ecoCreature", ".yml");
+        try {
+            byte[] first = ConfigSnapshot.hash(new ByteArrayInputStream(new byte[] { 1 }), Collections.singletonList(file));
+            byte[] second = ConfigSnapshot.hash(new ByteArrayInputStream(new byte[] { 2 }), Collections.singletonList(file));
+
+            Assert.assertFalse(Arrays.equals(first, second));
+            Assert.assertTrue(Arrays.equals(first, ConfigSnapshot.hash(new ByteArrayInputStream(new byte[] { 1 }), Collections.singletonList(file))));
+        }
+        finally {
+            file.delete();
+        }
+    }
+}
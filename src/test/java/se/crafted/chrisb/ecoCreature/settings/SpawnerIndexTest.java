@@ -0,0 +1,67 @@
+/*
+ * This file is part of ecoCreature.
+ *
+ * Copyright (c) 2011-2012, R. Ramos <http://github.com/mung3r/>
+ * ecoCreature is licensed under the GNU Lesser General Public License.
+ *
+ * ecoCreature is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ecoCreature is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.crafted.chrisb.ecoCreature.settings;
+
+import java.io.File;
+import java.io.IOException;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+public class SpawnerIndexTest
+{
+    private static final int CAMP_RADIUS = 16;
+
+    @Test
+    public void testNearSpawnerAcrossChunks()
+    {
+        SpawnerIndex index = new SpawnerIndex();
+        index.addSpawner(-3, 40, 15);
+
+        Assert.assertTrue(index.isNearSpawner(10, 40, 20, CAMP_RADIUS));
+        Assert.assertTrue(index.isNearSpawner(-18, 41, 15, CAMP_RADIUS));
+        Assert.assertFalse(index.isNearSpawner(20, 40, 15, CAMP_RADIUS));
+        Assert.assertFalse(index.isNearSpawner(-3, 60, 15, CAMP_RADIUS));
+
+        Assert.assertTrue(index.removeSpawner(-3, 40, 15));
+        Assert.assertFalse(index.isNearSpawner(-3, 40, 15, CAMP_RADIUS));
+        Assert.assertEquals(0, index.size());
+    }
+
+    @Test
+    public void testSaveAndLoad() throws IOException
+    {
+        File file = File.createTempFile("spawners", ".dat");
+        file.deleteOnExit();
+
+        SpawnerIndex index = new SpawnerIndex();
+        index.addSpawner(100, 12, -200);
+        index.addSpawner(-30000000 + 1, 255, 29999999);
+        index.save(file);
+
+        SpawnerIndex loaded = new SpawnerIndex();
+        loaded.load(file);
+
+        Assert.assertEquals(2, loaded.size());
+        Assert.assertTrue(loaded.isNearSpawner(100, 12, -200, 0));
+        Assert.assertTrue(loaded.isNearSpawner(-30000000 + 1, 255, 29999999, 0));
+    }
+}